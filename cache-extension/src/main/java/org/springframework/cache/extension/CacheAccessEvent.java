@@ -0,0 +1,46 @@
+package org.springframework.cache.extension;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event recorded for every get, put and evict on a cache resolved by DynamicCacheResolver.
+ */
+@Name("org.springframework.cache.extension.CacheAccess")
+@Label("Cache Access")
+@Description("Cache operation on a cache resolved for a cache item definition")
+@Category({"Spring", "Cache Extension"})
+@StackTrace(false)
+class CacheAccessEvent extends jdk.jfr.Event {
+
+  private static final EventType EVENT_TYPE = EventType.getEventType(CacheAccessEvent.class);
+
+  @Label("Type")
+  Class<?> type;
+
+  @Label("Method")
+  String method;
+
+  @Label("Cache Manager")
+  String cacheManager;
+
+  @Label("Cache Name")
+  String cacheName;
+
+  @Label("Operation")
+  String operation;
+
+  @Label("Hit")
+  boolean hit;
+
+  /**
+   * @return true if the event is enabled in a running recording.
+   */
+  static boolean isRecording() {
+    return EVENT_TYPE.isEnabled();
+  }
+}
@@ -0,0 +1,220 @@
+package org.springframework.cache.extension;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import lombok.Getter;
+
+/**
+ * Compact binary format of sampled cache access traces.
+ * A trace starts with a header (magic, version, sample rate) followed by records of: key hash
+ * (8 bytes), timestamp delta in milliseconds (varint) and load time in microseconds shifted left by
+ * two with the load flag and the hit flag in the lowest bits (varint).
+ * Accesses are recorded when a cache is looked up, loads when the value loaded after a miss is
+ * cached, so a miss is recorded even if its value is never cached.
+ */
+public final class CacheAccessTrace {
+
+  static final int MAGIC = 0x43545243;
+
+  static final int VERSION = 2;
+
+  private CacheAccessTrace() {
+  }
+
+  /**
+   * A single cache access, or the load of the value of a key after a miss.
+   */
+  @Getter
+  public static class Record {
+
+    private long keyHash;
+
+    private long timestamp;
+
+    private boolean load;
+
+    private boolean hit;
+
+    private long loadMicros;
+  }
+
+  /**
+   * Writes a trace. Records are appended to an in-memory buffer, so recording threads never wait
+   * for the disk, and are written to the file when the trace is flushed.
+   * At most {@link #MAX_PENDING_RECORDS} records are kept between flushes, later ones are dropped.
+   */
+  public static class Writer implements Closeable {
+
+    public static final int MAX_PENDING_RECORDS = 1 << 20;
+
+    private final DataOutputStream out;
+
+    /**
+     * Pending records, three longs each: key hash, timestamp and encoded value.
+     */
+    private long[] pending = new long[3 * 1024];
+
+    private int pendingSize;
+
+    private boolean closed;
+
+    /**
+     * Guarded by {@link #out}: the buffer swapped with the pending one on flush.
+     */
+    private long[] flushing = new long[3 * 1024];
+
+    private long lastTimestamp;
+
+    /**
+     * Creates a new trace, an existing file is never overwritten.
+     */
+    public Writer(final Path path, final double sampleRate) throws IOException {
+      out = new DataOutputStream(new BufferedOutputStream(
+          Files.newOutputStream(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)));
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeDouble(sampleRate);
+    }
+
+    public void writeAccess(final long keyHash, final long timestamp, final boolean hit) {
+      write(keyHash, timestamp, hit ? 1 : 0);
+    }
+
+    public void writeLoad(final long keyHash, final long timestamp, final long loadMicros) {
+      write(keyHash, timestamp, Math.max(0, loadMicros) << 2 | 2);
+    }
+
+    private synchronized void write(final long keyHash, final long timestamp, final long value) {
+      if (closed) {
+        return;
+      }
+      if (pendingSize == pending.length) {
+        if (pendingSize >= 3 * MAX_PENDING_RECORDS) {
+          return;
+        }
+        pending = Arrays.copyOf(pending, pendingSize * 2);
+      }
+      pending[pendingSize++] = keyHash;
+      pending[pendingSize++] = timestamp;
+      pending[pendingSize++] = value;
+    }
+
+    /**
+     * Writes the pending records to the file, only the buffers are swapped under the lock of
+     * recording threads.
+     */
+    public void flush() throws IOException {
+      synchronized (out) {
+        final long[] records;
+        final int size;
+        synchronized (this) {
+          records = pending;
+          size = pendingSize;
+          pending = flushing;
+          pendingSize = 0;
+        }
+        flushing = records;
+
+        for (int i = 0; i < size; i += 3) {
+          final long timestamp = records[i + 1];
+          out.writeLong(records[i]);
+          writeVarLong(Math.max(0, timestamp - lastTimestamp));
+          writeVarLong(records[i + 2]);
+          lastTimestamp = Math.max(lastTimestamp, timestamp);
+        }
+        out.flush();
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      synchronized (out) {
+        synchronized (this) {
+          closed = true;
+        }
+        flush();
+        out.close();
+      }
+    }
+
+    private void writeVarLong(long value) throws IOException {
+      while ((value & ~0x7FL) != 0) {
+        out.writeByte((int) ((value & 0x7F) | 0x80));
+        value >>>= 7;
+      }
+      out.writeByte((int) value);
+    }
+  }
+
+  public static class Reader implements Closeable {
+
+    private final DataInputStream in;
+
+    @Getter
+    private final double sampleRate;
+
+    private long timestamp;
+
+    public Reader(final Path path) throws IOException {
+      in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)));
+      if (in.readInt() != MAGIC) {
+        in.close();
+        throw new IOException("Not a cache access trace: " + path);
+      }
+      final int version = in.readInt();
+      if (version != VERSION) {
+        in.close();
+        throw new IOException("Unsupported cache access trace version: " + version);
+      }
+      sampleRate = in.readDouble();
+    }
+
+    /**
+     * Reads the next record into the given one.
+     * @return false at the end of the trace.
+     */
+    public boolean next(final Record record) throws IOException {
+      final long keyHash;
+      try {
+        keyHash = in.readLong();
+      } catch (EOFException e) {
+        return false;
+      }
+      timestamp += readVarLong();
+      final long value = readVarLong();
+
+      record.keyHash = keyHash;
+      record.timestamp = timestamp;
+      record.hit = (value & 1) != 0;
+      record.load = (value & 2) != 0;
+      record.loadMicros = value >>> 2;
+      return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+      in.close();
+    }
+
+    private long readVarLong() throws IOException {
+      long value = 0;
+      for (int shift = 0; shift < 64; shift += 7) {
+        final byte b = in.readByte();
+        value |= (long) (b & 0x7F) << shift;
+        if ((b & 0x80) == 0) {
+          return value;
+        }
+      }
+      throw new IOException("Malformed varint");
+    }
+  }
+}
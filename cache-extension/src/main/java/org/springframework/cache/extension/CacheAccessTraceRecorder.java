@@ -0,0 +1,120 @@
+package org.springframework.cache.extension;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Records sampled cache access traces, one file per CacheItemDefinition, to be replayed offline by
+ * the CacheTraceSimulator.
+ * Sampling is done by key hash, so every access of a sampled key is recorded and reuse distances
+ * are preserved.
+ * Every recorder writes new files named after its start time, so restarts never overwrite earlier
+ * traces. Records are buffered in memory and written to the files periodically by a daemon
+ * thread, so cached lookups never wait for the disk.
+ */
+@Slf4j
+public class CacheAccessTraceRecorder implements Closeable {
+
+  public static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofSeconds(5);
+
+  private static final DateTimeFormatter START_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+  private final Path directory;
+
+  private final String startTime = LocalDateTime.now().format(START_TIME);
+
+  private final ConcurrentHashMap<String, CacheAccessTrace.Writer> writers = new ConcurrentHashMap<>();
+
+  private final ScheduledExecutorService flusher;
+
+  public CacheAccessTraceRecorder(@NonNull final Path directory) {
+    this(directory, DEFAULT_FLUSH_INTERVAL);
+  }
+
+  public CacheAccessTraceRecorder(@NonNull final Path directory, @NonNull final Duration flushInterval) {
+    this.directory = directory;
+    this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "cache-access-trace-flusher");
+      thread.setDaemon(true);
+      return thread;
+    });
+    flusher.scheduleWithFixedDelay(this::flushQuietly,
+        flushInterval.toMillis(), flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * @return true if accesses of the key hash must be recorded at the given sample rate.
+   */
+  public static boolean isSampled(final long keyHash, final double sampleRate) {
+    return (keyHash >>> 40) < sampleRate * (1L << 24);
+  }
+
+  public void recordAccess(final CacheItemDefinition cacheItemDefinition, final long keyHash,
+      final boolean hit) {
+    try {
+      writer(cacheItemDefinition).writeAccess(keyHash, System.currentTimeMillis(), hit);
+    } catch (UncheckedIOException e) {
+      log.warn("Failed to record cache access trace: {}", cacheItemDefinition, e);
+    }
+  }
+
+  public void recordLoad(final CacheItemDefinition cacheItemDefinition, final long keyHash,
+      final long loadMicros) {
+    try {
+      writer(cacheItemDefinition).writeLoad(keyHash, System.currentTimeMillis(), loadMicros);
+    } catch (UncheckedIOException e) {
+      log.warn("Failed to record cache access trace: {}", cacheItemDefinition, e);
+    }
+  }
+
+  public void flush() throws IOException {
+    for (CacheAccessTrace.Writer writer : writers.values()) {
+      writer.flush();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    flusher.shutdownNow();
+    for (CacheAccessTrace.Writer writer : writers.values()) {
+      writer.close();
+    }
+    writers.clear();
+  }
+
+  private void flushQuietly() {
+    try {
+      flush();
+    } catch (IOException e) {
+      log.warn("Failed to flush cache access traces", e);
+    }
+  }
+
+  private CacheAccessTrace.Writer writer(final CacheItemDefinition cacheItemDefinition) {
+    final String fileName = cacheItemDefinition.getType().getSimpleName() + "."
+        + cacheItemDefinition.getMethod() + "." + startTime + ".trace";
+
+    return writers.computeIfAbsent(fileName, name -> {
+      try {
+        Files.createDirectories(directory);
+        log.info("Record cache access trace: {}", directory.resolve(name));
+        return new CacheAccessTrace.Writer(
+            directory.resolve(name), cacheItemDefinition.getTraceSampleRate());
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    });
+  }
+}
@@ -0,0 +1,30 @@
+package org.springframework.cache.extension;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event recorded when a CacheableConditionEvaluator is evaluated.
+ */
+@Name("org.springframework.cache.extension.ConditionEvaluation")
+@Label("Cache Condition Evaluation")
+@Description("Evaluation of the Cacheable condition of a cache item definition")
+@Category({"Spring", "Cache Extension"})
+@StackTrace(false)
+class CacheConditionEvaluationEvent extends jdk.jfr.Event {
+
+  @Label("Type")
+  Class<?> type;
+
+  @Label("Method")
+  String method;
+
+  @Label("Condition Evaluator")
+  String conditionEvaluator;
+
+  @Label("Matched")
+  boolean matched;
+}
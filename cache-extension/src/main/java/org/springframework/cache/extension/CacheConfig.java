@@ -1,11 +1,15 @@
 package org.springframework.cache.extension;
 
+import java.nio.file.Paths;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CachingConfigurerSupport;
 import org.springframework.cache.annotation.EnableCaching;
@@ -34,6 +38,26 @@ public class CacheConfig extends CachingConfigurerSupport implements BeanPostPro
     return new CacheItemRepositoryImpl();
   }
 
+  @ConditionalOnMissingBean(CacheWeightRepository.class)
+  @Bean
+  public CacheWeightRepository cacheWeightRepository() {
+    return new CacheWeightRepositoryImpl();
+  }
+
+  @ConditionalOnMissingBean(CachePartitionRepository.class)
+  @Bean
+  public CachePartitionRepository cachePartitionRepository() {
+    return new CachePartitionRepositoryImpl();
+  }
+
+  @ConditionalOnProperty(prefix = "cache", name = "extension-trace-directory")
+  @ConditionalOnMissingBean(CacheAccessTraceRecorder.class)
+  @Bean(destroyMethod = "close")
+  public CacheAccessTraceRecorder cacheAccessTraceRecorder(
+      @Value("${cache.extension-trace-directory}") String traceDirectory) {
+    return new CacheAccessTraceRecorder(Paths.get(traceDirectory));
+  }
+
   @Bean
   public CacheManagerRepository cacheManagerRepository() {
     return new CacheManagerRepositoryImpl();
@@ -51,7 +75,54 @@ public class CacheConfig extends CachingConfigurerSupport implements BeanPostPro
   @Bean
   @Override
   public CacheResolver cacheResolver() {
-    return new DynamicCacheResolver(cacheItemRepository(), cacheManagerRepository());
+    return new DynamicCacheResolver(
+        cacheItemRepository(), cacheManagerRepository(), cacheWeightRepository(),
+        cachePartitionRepository());
+  }
+
+  /**
+   * Registers the cache item definitions endpoint when Spring Boot Actuator is available.
+   * The endpoint is read only unless cache.extension-endpoint-writes-enabled is true.
+   */
+  @Configuration
+  @ConditionalOnClass(name = "org.springframework.boot.actuate.endpoint.annotation.Endpoint")
+  static class CacheItemDefinitionEndpointConfig {
+
+    @ConditionalOnProperty(prefix = "cache", name = "extension-endpoint-writes-enabled")
+    @ConditionalOnMissingBean(CacheItemDefinitionEndpoint.class)
+    @Bean
+    public WritableCacheItemDefinitionEndpoint writableCacheItemDefinitionEndpoint(
+        CacheItemRepository cacheItemRepository, CacheWeightRepository cacheWeightRepository,
+        CachePartitionRepository cachePartitionRepository) {
+      return new WritableCacheItemDefinitionEndpoint(
+          cacheItemRepository, cacheWeightRepository, cachePartitionRepository);
+    }
+
+    @ConditionalOnProperty(prefix = "cache", name = "extension-endpoint-writes-enabled",
+        havingValue = "false", matchIfMissing = true)
+    @ConditionalOnMissingBean(CacheItemDefinitionEndpoint.class)
+    @Bean
+    public CacheItemDefinitionEndpoint cacheItemDefinitionEndpoint(
+        CacheItemRepository cacheItemRepository, CacheWeightRepository cacheWeightRepository,
+        CachePartitionRepository cachePartitionRepository) {
+      return new CacheItemDefinitionEndpoint(
+          cacheItemRepository, cacheWeightRepository, cachePartitionRepository);
+    }
+  }
+
+  /**
+   * Opens a CacheMemoScope for every request in servlet web applications.
+   */
+  @Configuration
+  @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+  @ConditionalOnClass(name = "org.springframework.web.filter.OncePerRequestFilter")
+  static class CacheMemoScopeFilterConfig {
+
+    @ConditionalOnMissingBean
+    @Bean
+    public CacheMemoScopeFilter cacheMemoScopeFilter() {
+      return new CacheMemoScopeFilter();
+    }
   }
 
   @Override
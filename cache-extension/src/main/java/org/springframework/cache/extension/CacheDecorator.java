@@ -0,0 +1,76 @@
+package org.springframework.cache.extension;
+
+import java.util.concurrent.Callable;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+
+/**
+ * Base class for caches that add behavior on top of a cache resolved from a CacheManager.
+ * All operations are delegated, subclasses override the ones they need.
+ */
+@RequiredArgsConstructor
+public abstract class CacheDecorator implements Cache {
+
+  @NonNull
+  protected final Cache delegate;
+
+  public Cache getDelegate() {
+    return delegate;
+  }
+
+  @Override
+  public String getName() {
+    return delegate.getName();
+  }
+
+  @Override
+  public Object getNativeCache() {
+    return delegate.getNativeCache();
+  }
+
+  @Override
+  public ValueWrapper get(Object key) {
+    return delegate.get(key);
+  }
+
+  @Override
+  public <T> T get(Object key, Class<T> type) {
+    return delegate.get(key, type);
+  }
+
+  @Override
+  public <T> T get(Object key, Callable<T> valueLoader) {
+    return delegate.get(key, valueLoader);
+  }
+
+  @Override
+  public void put(Object key, Object value) {
+    delegate.put(key, value);
+  }
+
+  @Override
+  public ValueWrapper putIfAbsent(Object key, Object value) {
+    return delegate.putIfAbsent(key, value);
+  }
+
+  @Override
+  public void evict(Object key) {
+    delegate.evict(key);
+  }
+
+  @Override
+  public boolean evictIfPresent(Object key) {
+    return delegate.evictIfPresent(key);
+  }
+
+  @Override
+  public void clear() {
+    delegate.clear();
+  }
+
+  @Override
+  public boolean invalidate() {
+    return delegate.invalidate();
+  }
+}
@@ -0,0 +1,27 @@
+package org.springframework.cache.extension;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event recorded when a cache item definition is looked up by invocation context.
+ */
+@Name("org.springframework.cache.extension.DefinitionResolution")
+@Label("Cache Definition Resolution")
+@Description("Lookup of the cache item definition matching a Cacheable invocation")
+@Category({"Spring", "Cache Extension"})
+@StackTrace(false)
+class CacheDefinitionResolutionEvent extends jdk.jfr.Event {
+
+  @Label("Type")
+  Class<?> type;
+
+  @Label("Method")
+  String method;
+
+  @Label("Found")
+  boolean found;
+}
@@ -0,0 +1,22 @@
+package org.springframework.cache.extension;
+
+import java.time.Duration;
+
+/**
+ * CacheEntryExpiry bean instances can be associated with CacheItemDefinition's in order to compute
+ * the time to live of every cached value, for example to keep expensive results longer.
+ * The computed time to live is applied by cache managers configured with {@link EntryTtlExpiryPolicy}
+ * (Ehcache) or {@link EntryTtlRedisCacheWriter} (Redis).
+ */
+@FunctionalInterface
+public interface CacheEntryExpiry {
+
+  /**
+   * Computes the time to live of a value returned by a Cacheable method.
+   * @param args the method arguments.
+   * @param value the returned value.
+   * @param loadTime the time spent invoking the method after the cache miss, zero if unknown.
+   * @return the time to live, null to use the cache default, zero or negative to skip caching.
+   */
+  Duration expireAfter(Object[] args, Object value, Duration loadTime);
+}
@@ -0,0 +1,25 @@
+package org.springframework.cache.extension;
+
+/**
+ * Notified when a cache removes an entry by itself, on eviction or expiration, so that state
+ * tracked by the extension for that entry can be released.
+ * Caches are identified by the bean name of their CacheManager and their name. Only caches that
+ * registered for removals are weighed or partitioned, see {@link EntryRemovalEventListener} for
+ * Ehcache.
+ */
+public interface CacheEntryRemovalListener {
+
+  /**
+   * Called once a cache notifies its removals to this listener.
+   * @param cacheManager the CacheManager bean name.
+   * @param cacheName the cache name.
+   */
+  void onRegistration(String cacheManager, String cacheName);
+
+  /**
+   * @param cacheManager the CacheManager bean name.
+   * @param cacheName the cache name.
+   * @param key the key of the removed entry, as stored in the cache.
+   */
+  void onRemoval(String cacheManager, String cacheName, Object key);
+}
@@ -0,0 +1,36 @@
+package org.springframework.cache.extension;
+
+import java.time.Duration;
+
+/**
+ * Exposes the time to live computed for the entry being put on the current thread, so cache
+ * manager specific adapters can apply it.
+ */
+public final class CacheEntryTtl {
+
+  private static final ThreadLocal<Duration> CURRENT = new ThreadLocal<>();
+
+  private CacheEntryTtl() {
+  }
+
+  /**
+   * @return the time to live of the entry being put, or null to use the cache default.
+   */
+  public static Duration current() {
+    return CURRENT.get();
+  }
+
+  static void runWith(final Duration ttl, final Runnable runnable) {
+    final Duration previous = CURRENT.get();
+    CURRENT.set(ttl);
+    try {
+      runnable.run();
+    } finally {
+      if (previous != null) {
+        CURRENT.set(previous);
+      } else {
+        CURRENT.remove();
+      }
+    }
+  }
+}
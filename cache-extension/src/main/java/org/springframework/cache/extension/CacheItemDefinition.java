@@ -1,6 +1,7 @@
 package org.springframework.cache.extension;
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.Set;
 import lombok.Builder;
 import lombok.Getter;
@@ -10,7 +11,7 @@ import lombok.NonNull;
  * A cache item definition contains the definition of a @Cacheable method.
  */
 @Getter
-@Builder
+@Builder(toBuilder = true)
 public class CacheItemDefinition {
 
   /**
@@ -41,6 +42,11 @@ public class CacheItemDefinition {
    */
   private final String cacheManager;
 
+  /**
+   * The CacheManager bean names to shard keys across by consistent hashing.
+   */
+  private final List<String> cacheManagers;
+
   /**
    * The KeyGenerator bean name.
    */
@@ -51,6 +57,62 @@ public class CacheItemDefinition {
    */
   private String cacheableConditionEvaluator;
 
+  /**
+   * The CacheValueWeigher bean name.
+   */
+  private String valueWeigher;
+
+  /**
+   * The max weight of a single cached value, heavier values are not cached.
+   */
+  private Long maxEntryWeight;
+
+  /**
+   * The max total weight of all values cached by this definition.
+   */
+  private Long maxWeight;
+
+  /**
+   * The CachePartitionExtractor bean name.
+   */
+  private final String partitionExtractor;
+
+  /**
+   * The max number of entries per partition.
+   */
+  private final Integer maxEntriesPerPartition;
+
+  /**
+   * The max total weight of the values of a partition, requires a value weigher.
+   */
+  private final Long maxWeightPerPartition;
+
+  /**
+   * The CacheEntryExpiry bean name.
+   */
+  private final String entryExpiry;
+
+  /**
+   * The fraction of keys, between 0 and 1, whose accesses are recorded by the
+   * CacheAccessTraceRecorder. Null disables tracing.
+   */
+  private final Double traceSampleRate;
+
+  /**
+   * De-duplicates equal cached values, null disables de-duplication.
+   */
+  private final ValueDeduplication valueDeduplication;
+
+  /**
+   * Memoizes results in the current CacheMemoScope before the shared caches.
+   */
+  private final boolean requestScoped;
+
+  /**
+   * Disabled definitions skip caching.
+   */
+  private final boolean disabled;
+
   @Override
   public String toString() {
     return "CacheItemDefinition{" +
@@ -59,8 +121,20 @@ public class CacheItemDefinition {
         ", parameterTypes=" + Arrays.toString(argumentTypes) +
         ", cacheNames=" + String.join(",", cacheNames) +
         ", cacheManager='" + cacheManager + '\'' +
+        ", cacheManagers=" + cacheManagers +
         ", keyGenerator='" + keyGenerator + '\'' +
         ", cacheableConditionEvaluator='" + cacheableConditionEvaluator + '\'' +
+        ", valueWeigher='" + valueWeigher + '\'' +
+        ", maxEntryWeight=" + maxEntryWeight +
+        ", maxWeight=" + maxWeight +
+        ", partitionExtractor='" + partitionExtractor + '\'' +
+        ", maxEntriesPerPartition=" + maxEntriesPerPartition +
+        ", maxWeightPerPartition=" + maxWeightPerPartition +
+        ", entryExpiry='" + entryExpiry + '\'' +
+        ", traceSampleRate=" + traceSampleRate +
+        ", valueDeduplication=" + valueDeduplication +
+        ", requestScoped=" + requestScoped +
+        ", disabled=" + disabled +
         '}';
   }
 }
@@ -0,0 +1,68 @@
+package org.springframework.cache.extension;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * Read only Actuator endpoint listing cache item definitions and the usage of cache partitions.
+ * See {@link WritableCacheItemDefinitionEndpoint} to change definitions at runtime.
+ */
+@Endpoint(id = "cacheitems")
+@RequiredArgsConstructor
+public class CacheItemDefinitionEndpoint {
+
+  protected final CacheItemRepository cacheItemRepository;
+
+  protected final CacheWeightRepository cacheWeightRepository;
+
+  protected final CachePartitionRepository cachePartitionRepository;
+
+  @ReadOperation
+  public Map<String, Object> definitions() {
+    List<Map<String, Object>> definitions = new ArrayList<>();
+    for (CacheItemDefinition cacheItemDefinition : cacheItemRepository) {
+      definitions.add(describe(cacheItemDefinition));
+    }
+
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("version", cacheItemRepository.getVersion());
+    result.put("definitions", definitions);
+    result.put("partitions", cachePartitionRepository.getUsage());
+    return result;
+  }
+
+  protected Map<String, Object> describe(final CacheItemDefinition cacheItemDefinition) {
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("type", cacheItemDefinition.getType().getName());
+    result.put("method", cacheItemDefinition.getMethod());
+    result.put("argumentTypes", cacheItemDefinition.getArgumentTypes() == null ? null
+        : Arrays.stream(cacheItemDefinition.getArgumentTypes())
+            .map(Class::getName)
+            .collect(Collectors.toList()));
+    result.put("cacheNames", cacheItemDefinition.getCacheNames());
+    result.put("cacheManager", cacheItemDefinition.getCacheManager());
+    result.put("cacheManagers", cacheItemDefinition.getCacheManagers());
+    result.put("keyGenerator", cacheItemDefinition.getKeyGenerator());
+    result.put("cacheableConditionEvaluator", cacheItemDefinition.getCacheableConditionEvaluator());
+    result.put("valueWeigher", cacheItemDefinition.getValueWeigher());
+    result.put("maxEntryWeight", cacheItemDefinition.getMaxEntryWeight());
+    result.put("maxWeight", cacheItemDefinition.getMaxWeight());
+    result.put("partitionExtractor", cacheItemDefinition.getPartitionExtractor());
+    result.put("maxEntriesPerPartition", cacheItemDefinition.getMaxEntriesPerPartition());
+    result.put("maxWeightPerPartition", cacheItemDefinition.getMaxWeightPerPartition());
+    result.put("entryExpiry", cacheItemDefinition.getEntryExpiry());
+    result.put("traceSampleRate", cacheItemDefinition.getTraceSampleRate());
+    result.put("valueDeduplication", cacheItemDefinition.getValueDeduplication());
+    result.put("requestScoped", cacheItemDefinition.isRequestScoped());
+    result.put("weight", cacheWeightRepository.getDefinitionWeight(cacheItemDefinition));
+    result.put("disabled", cacheItemDefinition.isDisabled());
+    return result;
+  }
+}
@@ -0,0 +1,45 @@
+package org.springframework.cache.extension;
+
+import java.util.Arrays;
+import java.util.Objects;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Signature of a cache item definition: type, method and argument types.
+ * Definitions with the same signature replace each other.
+ */
+@RequiredArgsConstructor
+final class CacheItemDefinitionKey {
+
+  private final Class<?> type;
+
+  private final String method;
+
+  private final Class[] argumentTypes;
+
+  static CacheItemDefinitionKey of(CacheItemDefinition cacheItemDefinition) {
+    return new CacheItemDefinitionKey(
+        cacheItemDefinition.getType(), cacheItemDefinition.getMethod(),
+        cacheItemDefinition.getArgumentTypes());
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    CacheItemDefinitionKey that = (CacheItemDefinitionKey) o;
+    return type.equals(that.type) && method.equals(that.method) && Arrays.equals(
+        argumentTypes, that.argumentTypes);
+  }
+
+  @Override
+  public int hashCode() {
+    int result = Objects.hash(type, method);
+    result = 31 * result + Arrays.hashCode(argumentTypes);
+    return result;
+  }
+}
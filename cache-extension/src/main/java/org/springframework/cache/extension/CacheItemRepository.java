@@ -7,8 +7,29 @@ import java.lang.reflect.Method;
  */
 public interface CacheItemRepository extends Iterable<CacheItemDefinition>{
 
+  /**
+   * Registers a definition, an already registered definition with the same signature is kept.
+   */
   void register(CacheItemDefinition cacheItemDefinition);
 
+  /**
+   * Registers a definition or replaces the one with the same signature.
+   */
+  void update(CacheItemDefinition cacheItemDefinition);
+
+  /**
+   * Removes the definition with the given signature.
+   * @return the removed definition, or null if none was registered.
+   */
+  CacheItemDefinition unregister(Class<?> type, String method, Class<?>... argumentTypes);
+
+  CacheItemDefinition find(Class<?> type, String method, Class<?>... argumentTypes);
+
+  /**
+   * @return the version of the definitions, incremented on every change.
+   */
+  long getVersion();
+
   CacheItemDefinition findByContext(Object target, Method method, Object... args);
 
   static CacheItemRepository getDefault() {
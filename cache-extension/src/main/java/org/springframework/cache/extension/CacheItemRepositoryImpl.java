@@ -3,11 +3,13 @@ package org.springframework.cache.extension;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -36,18 +38,76 @@ public class CacheItemRepositoryImpl implements
 
   private ApplicationContext applicationContext;
 
-  private ConcurrentHashMap<CacheItemDefinitionKey, CacheItemDefinition> map = new ConcurrentHashMap<>();
+  /**
+   * Readers only dereference the current snapshot, writers publish a new one by atomic swap.
+   */
+  private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(Snapshot.EMPTY);
 
   @Override
   public void register(@NonNull final CacheItemDefinition cacheItemDefinition) {
     log.info("Register cache item definition: {}", cacheItemDefinition);
 
-    map.putIfAbsent(CacheItemDefinitionKey.of(cacheItemDefinition), cacheItemDefinition);
+    final CacheItemDefinitionKey key = CacheItemDefinitionKey.of(cacheItemDefinition);
+    snapshot.updateAndGet(current -> current.definitions.containsKey(key)
+        ? current : current.with(key, cacheItemDefinition));
+  }
+
+  @Override
+  public void update(@NonNull final CacheItemDefinition cacheItemDefinition) {
+    log.info("Update cache item definition: {}", cacheItemDefinition);
+
+    if (applicationContext != null) {
+      validateCacheItemDefinition(cacheItemDefinition);
+    }
+
+    final CacheItemDefinitionKey key = CacheItemDefinitionKey.of(cacheItemDefinition);
+    final Snapshot updated = snapshot.updateAndGet(current -> current.with(key, cacheItemDefinition));
+    log.info("Cache item definitions version: {}", updated.version);
+  }
+
+  @Override
+  public CacheItemDefinition unregister(
+      @NonNull final Class<?> type, @NonNull final String method, final Class<?>... argumentTypes) {
+    final CacheItemDefinitionKey key = new CacheItemDefinitionKey(type, method, argumentTypes);
+    final Snapshot previous = snapshot.getAndUpdate(current -> current.definitions.containsKey(key)
+        ? current.without(key) : current);
+
+    final CacheItemDefinition removed = previous.definitions.get(key);
+    log.info("Unregister cache item definition: {}", removed);
+    return removed;
+  }
+
+  @Override
+  public CacheItemDefinition find(
+      @NonNull final Class<?> type, @NonNull final String method, final Class<?>... argumentTypes) {
+    return snapshot.get().definitions.get(new CacheItemDefinitionKey(type, method, argumentTypes));
+  }
+
+  @Override
+  public long getVersion() {
+    return snapshot.get().version;
   }
 
   @Override
   public CacheItemDefinition findByContext(
       @NonNull final Object target, @NonNull final Method method, final Object... args) {
+    CacheDefinitionResolutionEvent event = new CacheDefinitionResolutionEvent();
+    event.begin();
+
+    CacheItemDefinition cacheItemDefinition = findDefinition(target, method, args);
+
+    event.end();
+    if (event.shouldCommit()) {
+      event.type = target.getClass();
+      event.method = method.getName();
+      event.found = cacheItemDefinition != null;
+      event.commit();
+    }
+    return cacheItemDefinition;
+  }
+
+  private CacheItemDefinition findDefinition(
+      final Object target, final Method method, final Object... args) {
     Class[] argTypes = null;
 
     if (args != null) {
@@ -59,7 +119,8 @@ public class CacheItemRepositoryImpl implements
     final CacheItemDefinitionKey key = new CacheItemDefinitionKey(
         target.getClass(), method.getName(), argTypes);
 
-    CacheItemDefinition cacheItemDefinition = map.get(key);
+    final Snapshot current = snapshot.get();
+    CacheItemDefinition cacheItemDefinition = current.definitions.get(key);
 
     if (cacheItemDefinition != null) {
       log.debug("Found exact match: {}", cacheItemDefinition);
@@ -68,7 +129,7 @@ public class CacheItemRepositoryImpl implements
 
     log.debug("No cache item definition found, looks for same signature with primitive types.");
     // Looks for same signature but primitive types
-    for (CacheItemDefinition def : map.values()) {
+    for (CacheItemDefinition def : current.values) {
       final Class<?>[] argumentTypes = def.getArgumentTypes();
 
       final boolean sameSignature = def.getType().equals(target.getClass())
@@ -109,7 +170,7 @@ public class CacheItemRepositoryImpl implements
 
   @Override
   public void afterPropertiesSet() throws Exception {
-    map.values().forEach(this::validateCacheItemDefinition);
+    snapshot.get().values.forEach(this::validateCacheItemDefinition);
   }
 
   private void validateCacheItemDefinition(final CacheItemDefinition cacheItemDefinition) {
@@ -118,6 +179,15 @@ public class CacheItemRepositoryImpl implements
       applicationContext.getBean(cacheItemDefinition.getCacheManager(), CacheManager.class);
     }
 
+    if (cacheItemDefinition.getCacheManagers() != null) {
+      if (cacheItemDefinition.getCacheManager() != null) {
+        throw new IllegalStateException(
+            "Define either a cache manager or sharded cache managers: " + cacheItemDefinition);
+      }
+      cacheItemDefinition.getCacheManagers()
+          .forEach(cacheManager -> applicationContext.getBean(cacheManager, CacheManager.class));
+    }
+
     if (cacheItemDefinition.getKeyGenerator() != null) {
       applicationContext.getBean(cacheItemDefinition.getKeyGenerator(), KeyGenerator.class);
     }
@@ -125,46 +195,74 @@ public class CacheItemRepositoryImpl implements
     if (cacheItemDefinition.getCacheableConditionEvaluator() != null) {
       applicationContext.getBean(cacheItemDefinition.getCacheableConditionEvaluator(), CacheableConditionEvaluator.class);
     }
+
+    final boolean partitionQuotas = cacheItemDefinition.getMaxEntriesPerPartition() != null
+        || cacheItemDefinition.getMaxWeightPerPartition() != null;
+    if (cacheItemDefinition.getPartitionExtractor() != null) {
+      if (!partitionQuotas) {
+        throw new IllegalStateException(
+            "Partition extractor requires partition quotas: " + cacheItemDefinition);
+      }
+      applicationContext.getBean(cacheItemDefinition.getPartitionExtractor(), CachePartitionExtractor.class);
+    } else if (partitionQuotas) {
+      throw new IllegalStateException(
+          "Partition quotas require a partition extractor: " + cacheItemDefinition);
+    }
+
+    if (cacheItemDefinition.getEntryExpiry() != null) {
+      applicationContext.getBean(cacheItemDefinition.getEntryExpiry(), CacheEntryExpiry.class);
+    }
+
+    final Double traceSampleRate = cacheItemDefinition.getTraceSampleRate();
+    if (traceSampleRate != null && (traceSampleRate <= 0 || traceSampleRate > 1)) {
+      throw new IllegalStateException(
+          "Trace sample rate must be greater than 0 and at most 1: " + cacheItemDefinition);
+    }
+
+    if (cacheItemDefinition.getValueWeigher() != null) {
+      applicationContext.getBean(cacheItemDefinition.getValueWeigher(), CacheValueWeigher.class);
+    } else if (cacheItemDefinition.getMaxEntryWeight() != null || cacheItemDefinition.getMaxWeight() != null
+        || cacheItemDefinition.getMaxWeightPerPartition() != null) {
+      throw new IllegalStateException(
+          "Weight limits require a value weigher: " + cacheItemDefinition);
+    }
   }
 
   @Override
   public Iterator<CacheItemDefinition> iterator() {
-    return new ArrayList<>(map.values()).iterator();
+    return snapshot.get().values.iterator();
   }
 
+  /**
+   * Immutable and versioned view of all definitions.
+   */
   @RequiredArgsConstructor
-  private static class CacheItemDefinitionKey {
+  private static class Snapshot {
 
-    private final Class<?> type;
+    private static final Snapshot EMPTY =
+        new Snapshot(0L, Collections.emptyMap(), Collections.emptyList());
 
-    private final String method;
+    private final long version;
 
-    private final Class[] argumentTypes;
+    private final Map<CacheItemDefinitionKey, CacheItemDefinition> definitions;
 
-    public static CacheItemDefinitionKey of(CacheItemDefinition cacheItemDefinition) {
-      return new CacheItemDefinitionKey(
-          cacheItemDefinition.getType(), cacheItemDefinition.getMethod(),
-          cacheItemDefinition.getArgumentTypes());
+    private final List<CacheItemDefinition> values;
+
+    private Snapshot with(final CacheItemDefinitionKey key, final CacheItemDefinition cacheItemDefinition) {
+      final Map<CacheItemDefinitionKey, CacheItemDefinition> copy = new LinkedHashMap<>(definitions);
+      copy.put(key, cacheItemDefinition);
+      return next(copy);
     }
 
-    @Override
-    public boolean equals(Object o) {
-      if (this == o) {
-        return true;
-      }
-      if (o == null || getClass() != o.getClass()) {
-        return false;
-      }
-      CacheItemDefinitionKey that = (CacheItemDefinitionKey) o;
-      return type.equals(that.type) && method.equals(that.method) && Arrays.equals(
-          argumentTypes, that.argumentTypes);
+    private Snapshot without(final CacheItemDefinitionKey key) {
+      final Map<CacheItemDefinitionKey, CacheItemDefinition> copy = new LinkedHashMap<>(definitions);
+      copy.remove(key);
+      return next(copy);
     }
 
-    @Override
-    public int hashCode() {
-      int result = Objects.hash(type, method);
-      result = 31 * result + Arrays.hashCode(argumentTypes);
-      return result;
+    private Snapshot next(final Map<CacheItemDefinitionKey, CacheItemDefinition> copy) {
+      return new Snapshot(version + 1, Collections.unmodifiableMap(copy),
+          Collections.unmodifiableList(new ArrayList<>(copy.values())));
     }
   }
 }
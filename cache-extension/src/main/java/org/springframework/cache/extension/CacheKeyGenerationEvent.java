@@ -0,0 +1,27 @@
+package org.springframework.cache.extension;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event recorded when DynamicKeyGenerator generates a cache key.
+ */
+@Name("org.springframework.cache.extension.KeyGeneration")
+@Label("Cache Key Generation")
+@Description("Generation of a cache key, including the cache item definition lookup")
+@Category({"Spring", "Cache Extension"})
+@StackTrace(false)
+class CacheKeyGenerationEvent extends jdk.jfr.Event {
+
+  @Label("Type")
+  Class<?> type;
+
+  @Label("Method")
+  String method;
+
+  @Label("Key Generator")
+  String keyGenerator;
+}
@@ -0,0 +1,40 @@
+package org.springframework.cache.extension;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event recorded from a cache miss until the loaded value is put into the cache.
+ */
+@Name("org.springframework.cache.extension.CacheLoad")
+@Label("Cache Load")
+@Description("Invocation of a Cacheable method after a cache miss")
+@Category({"Spring", "Cache Extension"})
+@StackTrace(false)
+class CacheLoadEvent extends jdk.jfr.Event {
+
+  private static final EventType EVENT_TYPE = EventType.getEventType(CacheLoadEvent.class);
+
+  @Label("Type")
+  Class<?> type;
+
+  @Label("Method")
+  String method;
+
+  @Label("Cache Manager")
+  String cacheManager;
+
+  @Label("Cache Name")
+  String cacheName;
+
+  /**
+   * @return true if the event is enabled in a running recording.
+   */
+  static boolean isRecording() {
+    return EVENT_TYPE.isEnabled();
+  }
+}
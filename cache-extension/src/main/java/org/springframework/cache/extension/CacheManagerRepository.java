@@ -11,4 +11,9 @@ public interface CacheManagerRepository {
 
   CacheManager findByName(String name);
 
+  /**
+   * @return the bean name a CacheManager was registered with, or null if it is not registered.
+   */
+  String findNameByCacheManager(CacheManager cacheManager);
+
 }
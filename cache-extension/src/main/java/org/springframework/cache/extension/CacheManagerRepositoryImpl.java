@@ -2,6 +2,7 @@ package org.springframework.cache.extension;
 
 import java.util.Collection;
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
@@ -37,4 +38,14 @@ public class CacheManagerRepositoryImpl implements CacheManagerRepository {
     return cacheManagersMap.get(name);
   }
 
+  @Override
+  public String findNameByCacheManager(@NonNull final CacheManager cacheManager) {
+    for (Map.Entry<String, CacheManager> entry : cacheManagersMap.entrySet()) {
+      if (entry.getValue() == cacheManager) {
+        return entry.getKey();
+      }
+    }
+    return null;
+  }
+
 }
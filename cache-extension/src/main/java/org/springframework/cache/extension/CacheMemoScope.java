@@ -0,0 +1,78 @@
+package org.springframework.cache.extension;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import lombok.NonNull;
+import org.springframework.cache.Cache.ValueWrapper;
+
+/**
+ * Binds a request-scoped memo to the current thread. Cacheable results of request scoped
+ * definitions are memoized until the scope is closed, so repeated calls with the same key inside
+ * one request or task do not reach the shared caches.
+ * Memos are plain maps owned by one thread and are never shared.
+ */
+public final class CacheMemoScope implements AutoCloseable {
+
+  private static final ThreadLocal<CacheMemoScope> CURRENT = new ThreadLocal<>();
+
+  /**
+   * Memoized values by cache name and key.
+   */
+  private final Map<String, Map<Object, ValueWrapper>> memo = new HashMap<>();
+
+  private final CacheMemoScope previous;
+
+  private CacheMemoScope(final CacheMemoScope previous) {
+    this.previous = previous;
+  }
+
+  /**
+   * Opens a new scope on the current thread, to be closed by the same thread.
+   */
+  public static CacheMemoScope open() {
+    CacheMemoScope scope = new CacheMemoScope(CURRENT.get());
+    CURRENT.set(scope);
+    return scope;
+  }
+
+  /**
+   * @return the scope bound to the current thread, or null if none was opened.
+   */
+  public static CacheMemoScope current() {
+    return CURRENT.get();
+  }
+
+  /**
+   * Wraps a task so that it runs in its own scope, for example as a TaskDecorator.
+   */
+  public static Runnable decorate(@NonNull final Runnable task) {
+    return () -> {
+      try (CacheMemoScope scope = open()) {
+        task.run();
+      }
+    };
+  }
+
+  public static <T> Callable<T> decorate(@NonNull final Callable<T> task) {
+    return () -> {
+      try (CacheMemoScope scope = open()) {
+        return task.call();
+      }
+    };
+  }
+
+  Map<Object, ValueWrapper> getMemo(final String cacheName) {
+    return memo.computeIfAbsent(cacheName, name -> new HashMap<>());
+  }
+
+  @Override
+  public void close() {
+    memo.clear();
+    if (previous != null) {
+      CURRENT.set(previous);
+    } else {
+      CURRENT.remove();
+    }
+  }
+}
@@ -0,0 +1,22 @@
+package org.springframework.cache.extension;
+
+import java.io.IOException;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Opens a CacheMemoScope for every HTTP request and discards it when the request completes.
+ */
+public class CacheMemoScopeFilter extends OncePerRequestFilter {
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+      FilterChain filterChain) throws ServletException, IOException {
+    try (CacheMemoScope scope = CacheMemoScope.open()) {
+      filterChain.doFilter(request, response);
+    }
+  }
+}
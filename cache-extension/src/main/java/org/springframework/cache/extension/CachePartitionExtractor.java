@@ -0,0 +1,21 @@
+package org.springframework.cache.extension;
+
+import java.lang.reflect.Method;
+
+/**
+ * CachePartitionExtractor bean instances can be associated with CacheItemDefinition's in order to
+ * split a shared cache into partitions, for example one per tenant, each with its own quotas.
+ * The partition may be taken from argument values or thread context variables.
+ */
+@FunctionalInterface
+public interface CachePartitionExtractor {
+
+  /**
+   * Extracts the partition of the invocation context.
+   * @param target the target object.
+   * @param method the target method.
+   * @param args the method arguments.
+   * @return the partition, or null if the invocation is not subject to partition quotas.
+   */
+  Object extract(Object target, Method method, Object... args);
+}
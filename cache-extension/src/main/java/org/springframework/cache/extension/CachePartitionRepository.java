@@ -0,0 +1,56 @@
+package org.springframework.cache.extension;
+
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * CachePartitionRepository keeps track of the entries of every cache partition and selects the
+ * least recently used entries of a partition to evict when its quotas are exceeded.
+ * Caches are identified by CacheManager bean name and cache name. Only caches registered as
+ * notifying their removals are tracked, see {@link CacheEntryRemovalListener}: entries evicted or
+ * expired by other caches would otherwise be tracked forever.
+ */
+public interface CachePartitionRepository extends CacheEntryRemovalListener {
+
+  /**
+   * Tells whether the cache notifies its removals, so its partitions can be tracked.
+   */
+  boolean isTracked(String cacheManager, String cacheName);
+
+  /**
+   * Records an entry of the partition.
+   * @return the keys to evict to keep the partition within its quotas, or null if the entry alone
+   *     exceeds the max weight and must not be cached.
+   */
+  List<Object> admit(String cacheManager, String cacheName, Object partition, Object key,
+      long weight, Integer maxEntries, Long maxWeight);
+
+  /**
+   * Marks an entry as recently used.
+   */
+  void touch(String cacheManager, String cacheName, Object partition, Object key);
+
+  void release(String cacheManager, String cacheName, Object partition, Object key);
+
+  void releaseAll(String cacheManager, String cacheName);
+
+  /**
+   * Reports the usage of every partition by cache, as {@code cacheManager/cacheName}.
+   */
+  Map<String, Map<String, PartitionUsage>> getUsage();
+
+  static CachePartitionRepository getDefault() {
+    return new CachePartitionRepositoryImpl();
+  }
+
+  @Getter
+  @RequiredArgsConstructor
+  class PartitionUsage {
+
+    private final int entries;
+
+    private final long weight;
+  }
+}
@@ -0,0 +1,178 @@
+package org.springframework.cache.extension;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Partitions are only changed through atomic map operations, so tenants do not contend with each
+ * other. Every key is owned by a single partition, and a partition is removed once it is empty.
+ * Entries are kept until the cache notifies their removal, so only tracked caches may be partitioned.
+ */
+@Slf4j
+public class CachePartitionRepositoryImpl implements CachePartitionRepository {
+
+  private final Set<CacheTier> tracked = ConcurrentHashMap.newKeySet();
+
+  private final ConcurrentHashMap<PartitionKey, Partition> partitions = new ConcurrentHashMap<>();
+
+  /**
+   * Owning partition by cache and key, to release entries removed by caches.
+   */
+  private final ConcurrentHashMap<CacheTier, ConcurrentHashMap<Object, Object>> owners = new ConcurrentHashMap<>();
+
+  @Override
+  public void onRegistration(@NonNull final String cacheManager, @NonNull final String cacheName) {
+    log.info("Track cache partitions: {}, cache manager: {}", cacheName, cacheManager);
+    tracked.add(new CacheTier(cacheManager, cacheName));
+  }
+
+  @Override
+  public boolean isTracked(@NonNull final String cacheManager, @NonNull final String cacheName) {
+    return tracked.contains(new CacheTier(cacheManager, cacheName));
+  }
+
+  @Override
+  public List<Object> admit(@NonNull final String cacheManager, @NonNull final String cacheName,
+      @NonNull final Object partition, @NonNull final Object key, final long weight,
+      final Integer maxEntries, final Long maxWeight) {
+    final CacheTier tier = new CacheTier(cacheManager, cacheName);
+    if (maxWeight != null && weight > maxWeight) {
+      log.debug("Refused value heavier than partition quota, cache: {}, partition: {}", tier, partition);
+      return null;
+    }
+
+    final List<Object> evicted = new ArrayList<>();
+    partitions.compute(new PartitionKey(tier, partition), (partitionKey, current) -> {
+      final Partition p = current != null ? current : new Partition();
+      final Long previous = p.entries.put(key, weight);
+      p.weight += weight - (previous != null ? previous : 0L);
+
+      final Iterator<Map.Entry<Object, Long>> eldest = p.entries.entrySet().iterator();
+      while ((maxEntries != null && p.entries.size() > maxEntries)
+          || (maxWeight != null && p.weight > maxWeight)) {
+        final Map.Entry<Object, Long> entry = eldest.next();
+        if (entry.getKey().equals(key)) {
+          break;
+        }
+        evicted.add(entry.getKey());
+        p.weight -= entry.getValue();
+        eldest.remove();
+      }
+      return p;
+    });
+
+    final ConcurrentHashMap<Object, Object> cacheOwners =
+        owners.computeIfAbsent(tier, t -> new ConcurrentHashMap<>());
+    cacheOwners.put(key, partition);
+    evicted.forEach(evictedKey -> cacheOwners.remove(evictedKey, partition));
+
+    if (!evicted.isEmpty()) {
+      log.debug("Evict {} entries, cache: {}, partition: {}", evicted.size(), tier, partition);
+    }
+    return evicted;
+  }
+
+  @Override
+  public void touch(@NonNull final String cacheManager, @NonNull final String cacheName,
+      @NonNull final Object partition, @NonNull final Object key) {
+    partitions.computeIfPresent(
+        new PartitionKey(new CacheTier(cacheManager, cacheName), partition), (partitionKey, p) -> {
+          // Access ordered map, a get moves the entry to the tail.
+          p.entries.get(key);
+          return p;
+        });
+  }
+
+  @Override
+  public void release(@NonNull final String cacheManager, @NonNull final String cacheName,
+      @NonNull final Object partition, @NonNull final Object key) {
+    release(new CacheTier(cacheManager, cacheName), partition, key);
+  }
+
+  @Override
+  public void releaseAll(@NonNull final String cacheManager, @NonNull final String cacheName) {
+    final CacheTier tier = new CacheTier(cacheManager, cacheName);
+    partitions.keySet().removeIf(partitionKey -> partitionKey.tier.equals(tier));
+    owners.remove(tier);
+  }
+
+  @Override
+  public void onRemoval(final String cacheManager, final String cacheName, final Object key) {
+    final CacheTier tier = new CacheTier(cacheManager, cacheName);
+    final ConcurrentHashMap<Object, Object> cacheOwners = owners.get(tier);
+    final Object partition = cacheOwners != null ? cacheOwners.get(key) : null;
+    if (partition != null) {
+      release(tier, partition, key);
+    }
+  }
+
+  @Override
+  public Map<String, Map<String, PartitionUsage>> getUsage() {
+    final Map<String, Map<String, PartitionUsage>> usage = new TreeMap<>();
+    for (PartitionKey partitionKey : partitions.keySet()) {
+      partitions.computeIfPresent(partitionKey, (k, p) -> {
+        usage.computeIfAbsent(partitionKey.tier.toString(), name -> new TreeMap<>())
+            .put(String.valueOf(partitionKey.partition), new PartitionUsage(p.entries.size(), p.weight));
+        return p;
+      });
+    }
+    return usage;
+  }
+
+  private void release(final CacheTier tier, final Object partition, final Object key) {
+    partitions.computeIfPresent(new PartitionKey(tier, partition), (partitionKey, p) -> {
+      final Long previous = p.entries.remove(key);
+      if (previous != null) {
+        p.weight -= previous;
+      }
+      return p.entries.isEmpty() ? null : p;
+    });
+
+    final ConcurrentHashMap<Object, Object> cacheOwners = owners.get(tier);
+    if (cacheOwners != null) {
+      cacheOwners.remove(key, partition);
+    }
+  }
+
+  private static class Partition {
+
+    private final LinkedHashMap<Object, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long weight;
+  }
+
+  @RequiredArgsConstructor
+  private static class PartitionKey {
+
+    private final CacheTier tier;
+
+    private final Object partition;
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      PartitionKey that = (PartitionKey) o;
+      return tier.equals(that.tier) && partition.equals(that.partition);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(tier, partition);
+    }
+  }
+}
@@ -0,0 +1,49 @@
+package org.springframework.cache.extension;
+
+import java.util.Objects;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * A cache of a CacheManager: caches with the same name in different CacheManagers hold different
+ * entries, so their usage is tracked separately.
+ */
+@RequiredArgsConstructor
+final class CacheTier {
+
+  @NonNull
+  private final String cacheManager;
+
+  @NonNull
+  private final String cacheName;
+
+  String getCacheManager() {
+    return cacheManager;
+  }
+
+  String getCacheName() {
+    return cacheName;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    CacheTier that = (CacheTier) o;
+    return cacheManager.equals(that.cacheManager) && cacheName.equals(that.cacheName);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(cacheManager, cacheName);
+  }
+
+  @Override
+  public String toString() {
+    return cacheManager + "/" + cacheName;
+  }
+}
@@ -0,0 +1,454 @@
+package org.springframework.cache.extension;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Replays cache access traces recorded by the CacheAccessTraceRecorder against LRU, LFU and
+ * W-TinyLFU policies of different sizes and times to live, to size caches offline.
+ * Sizes are given for the full key space and scaled by the trace sample rate.
+ *
+ * <p>Usage: {@code CacheTraceSimulator [--sizes=100,1000] [--ttls=0,20,300] [--policies=LRU,LFU,W-TinyLFU]
+ * trace...}, times to live are in seconds and 0 means no expiration.
+ */
+public class CacheTraceSimulator {
+
+  /**
+   * Supported policies by name.
+   */
+  public static final Map<String, BiFunction<Integer, Long, Policy>> POLICIES = new LinkedHashMap<>();
+  static {
+    POLICIES.put("LRU", LruPolicy::new);
+    POLICIES.put("LFU", LfuPolicy::new);
+    POLICIES.put("W-TinyLFU", WindowTinyLfuPolicy::new);
+  }
+
+  /**
+   * Simulation result of one policy, size and time to live.
+   */
+  @Getter
+  @Builder
+  public static class Result {
+
+    private final String trace;
+
+    private final String policy;
+
+    private final int size;
+
+    private final Duration ttl;
+
+    private final long requests;
+
+    private final long hits;
+
+    private final double hitRatio;
+
+    /**
+     * Load time saved by hits, estimated from the load time recorded for each key.
+     */
+    private final Duration savedLoadTime;
+
+    @Override
+    public String toString() {
+      return String.format("%-30s %-10s %10d %10s %10d %8.2f%% %12.3fs",
+          trace, policy, size, ttl.isZero() ? "-" : ttl.getSeconds() + "s", requests,
+          hitRatio * 100, savedLoadTime.toNanos() / 1e9);
+    }
+  }
+
+  public static void main(String[] args) throws IOException {
+    List<Integer> sizes = Arrays.asList(100, 1_000, 10_000);
+    List<Duration> ttls = List.of(Duration.ZERO);
+    List<String> policies = new ArrayList<>(POLICIES.keySet());
+    List<Path> traces = new ArrayList<>();
+
+    for (String arg : args) {
+      if (arg.startsWith("--sizes=")) {
+        sizes = split(arg).stream().map(Integer::parseInt).collect(Collectors.toList());
+      } else if (arg.startsWith("--ttls=")) {
+        ttls = split(arg).stream().map(s -> Duration.ofSeconds(Long.parseLong(s))).collect(Collectors.toList());
+      } else if (arg.startsWith("--policies=")) {
+        policies = split(arg);
+      } else {
+        traces.add(Paths.get(arg));
+      }
+    }
+
+    if (traces.isEmpty()) {
+      System.err.println("Usage: CacheTraceSimulator [--sizes=100,1000] [--ttls=0,20,300] "
+          + "[--policies=LRU,LFU,W-TinyLFU] trace...");
+      System.exit(1);
+    }
+
+    System.out.println(String.format("%-30s %-10s %10s %10s %10s %9s %13s",
+        "trace", "policy", "size", "ttl", "requests", "hit ratio", "saved load"));
+    for (Path trace : traces) {
+      for (Result result : simulate(trace, policies, sizes, ttls)) {
+        System.out.println(result);
+      }
+    }
+  }
+
+  /**
+   * Replays a trace for every combination of policy, size and time to live.
+   */
+  public static List<Result> simulate(final Path trace, final List<String> policies,
+      final List<Integer> sizes, final List<Duration> ttls) throws IOException {
+    List<Result> results = new ArrayList<>();
+    for (String policy : policies) {
+      if (!POLICIES.containsKey(policy)) {
+        throw new IllegalArgumentException("Unknown policy: " + policy + ", expected one of " + POLICIES.keySet());
+      }
+      for (int size : sizes) {
+        for (Duration ttl : ttls) {
+          results.add(simulate(trace, policy, size, ttl));
+        }
+      }
+    }
+    return results;
+  }
+
+  public static Result simulate(final Path trace, final String policyName, final int size,
+      final Duration ttl) throws IOException {
+    try (CacheAccessTrace.Reader reader = new CacheAccessTrace.Reader(trace)) {
+      int capacity = (int) Math.max(1, Math.round(size * reader.getSampleRate()));
+      Policy policy = POLICIES.get(policyName).apply(capacity, ttl.toMillis());
+
+      Map<Long, Long> loadMicrosByKey = new HashMap<>();
+      long totalLoadMicros = 0;
+      long loads = 0;
+      long requests = 0;
+      long hits = 0;
+      long savedMicros = 0;
+
+      CacheAccessTrace.Record record = new CacheAccessTrace.Record();
+      while (reader.next(record)) {
+        if (record.isLoad()) {
+          loadMicrosByKey.put(record.getKeyHash(), record.getLoadMicros());
+          totalLoadMicros += record.getLoadMicros();
+          loads++;
+          continue;
+        }
+
+        requests++;
+        if (policy.access(record.getKeyHash(), record.getTimestamp())) {
+          hits++;
+          Long loadMicros = loadMicrosByKey.get(record.getKeyHash());
+          savedMicros += loadMicros != null ? loadMicros : (loads > 0 ? totalLoadMicros / loads : 0);
+        }
+      }
+
+      return Result.builder()
+          .trace(String.valueOf(trace.getFileName()))
+          .policy(policyName)
+          .size(size)
+          .ttl(ttl)
+          .requests(requests)
+          .hits(hits)
+          .hitRatio(requests > 0 ? (double) hits / requests : 0)
+          .savedLoadTime(Duration.ofNanos(savedMicros * 1000))
+          .build();
+    }
+  }
+
+  private static List<String> split(final String arg) {
+    return Arrays.stream(arg.substring(arg.indexOf('=') + 1).split(","))
+        .map(String::trim)
+        .filter(s -> !s.isEmpty())
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Cache replacement policy simulation.
+   */
+  public interface Policy {
+
+    /**
+     * Accesses the key, inserting it on a miss.
+     * @return true on hit.
+     */
+    boolean access(long key, long timestamp);
+  }
+
+  /**
+   * Base class for policies with entries expiring a fixed time after insertion, 0 never expires.
+   */
+  abstract static class ExpiringPolicy implements Policy {
+
+    private final long ttlMillis;
+
+    ExpiringPolicy(final long ttlMillis) {
+      this.ttlMillis = ttlMillis;
+    }
+
+    boolean isExpired(final long insertedAt, final long timestamp) {
+      return ttlMillis > 0 && timestamp - insertedAt >= ttlMillis;
+    }
+  }
+
+  static class LruPolicy extends ExpiringPolicy {
+
+    private final int capacity;
+
+    private final LinkedHashMap<Long, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    LruPolicy(final Integer capacity, final Long ttlMillis) {
+      super(ttlMillis);
+      this.capacity = capacity;
+    }
+
+    @Override
+    public boolean access(final long key, final long timestamp) {
+      Long insertedAt = entries.get(key);
+      if (insertedAt != null && !isExpired(insertedAt, timestamp)) {
+        return true;
+      }
+      entries.put(key, timestamp);
+      if (entries.size() > capacity) {
+        Iterator<Long> eldest = entries.keySet().iterator();
+        eldest.next();
+        eldest.remove();
+      }
+      return false;
+    }
+  }
+
+  static class LfuPolicy extends ExpiringPolicy {
+
+    private final int capacity;
+
+    private final Map<Long, Node> entries = new HashMap<>();
+
+    /**
+     * Least frequently used first, least recently used among equal frequencies.
+     */
+    private final TreeSet<Node> order = new TreeSet<>(
+        Comparator.comparingLong((Node node) -> node.frequency).thenComparingLong(node -> node.sequence));
+
+    private long sequence;
+
+    LfuPolicy(final Integer capacity, final Long ttlMillis) {
+      super(ttlMillis);
+      this.capacity = capacity;
+    }
+
+    @Override
+    public boolean access(final long key, final long timestamp) {
+      Node node = entries.get(key);
+      if (node != null) {
+        order.remove(node);
+        node.sequence = ++sequence;
+        if (!isExpired(node.insertedAt, timestamp)) {
+          node.frequency++;
+          order.add(node);
+          return true;
+        }
+        node.frequency = 1;
+        node.insertedAt = timestamp;
+        order.add(node);
+        return false;
+      }
+
+      if (entries.size() >= capacity) {
+        entries.remove(order.pollFirst().key);
+      }
+      node = new Node(key, timestamp, ++sequence);
+      entries.put(key, node);
+      order.add(node);
+      return false;
+    }
+
+    private static class Node {
+
+      private final long key;
+
+      private long insertedAt;
+
+      private long frequency = 1;
+
+      private long sequence;
+
+      private Node(final long key, final long insertedAt, final long sequence) {
+        this.key = key;
+        this.insertedAt = insertedAt;
+        this.sequence = sequence;
+      }
+    }
+  }
+
+  /**
+   * W-TinyLFU: a 1% LRU admission window in front of a segmented LRU main space (20% probation,
+   * 80% protected). Candidates evicted from the window replace the probation victim only if their
+   * estimated frequency, from a count-min sketch with periodic aging, is higher.
+   */
+  static class WindowTinyLfuPolicy extends ExpiringPolicy {
+
+    private final int windowCapacity;
+
+    private final int protectedCapacity;
+
+    private final int mainCapacity;
+
+    private final LinkedHashMap<Long, Long> window = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final LinkedHashMap<Long, Long> probation = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final LinkedHashMap<Long, Long> protectedSegment = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final FrequencySketch sketch;
+
+    WindowTinyLfuPolicy(final Integer capacity, final Long ttlMillis) {
+      super(ttlMillis);
+      this.windowCapacity = Math.max(1, capacity / 100);
+      this.mainCapacity = Math.max(1, capacity - windowCapacity);
+      this.protectedCapacity = (int) (mainCapacity * 0.8);
+      this.sketch = new FrequencySketch(capacity);
+    }
+
+    @Override
+    public boolean access(final long key, final long timestamp) {
+      sketch.increment(key);
+
+      Long insertedAt = window.get(key);
+      if (insertedAt != null) {
+        return hitOrReload(window, key, insertedAt, timestamp);
+      }
+
+      insertedAt = protectedSegment.get(key);
+      if (insertedAt != null) {
+        return hitOrReload(protectedSegment, key, insertedAt, timestamp);
+      }
+
+      insertedAt = probation.remove(key);
+      if (insertedAt != null) {
+        if (isExpired(insertedAt, timestamp)) {
+          probation.put(key, timestamp);
+          return false;
+        }
+        // Promotes to protected, demoting its eldest entry to probation.
+        protectedSegment.put(key, insertedAt);
+        if (protectedSegment.size() > protectedCapacity) {
+          Map.Entry<Long, Long> demoted = removeEldest(protectedSegment);
+          probation.put(demoted.getKey(), demoted.getValue());
+        }
+        return true;
+      }
+
+      window.put(key, timestamp);
+      if (window.size() > windowCapacity) {
+        admit(removeEldest(window));
+      }
+      return false;
+    }
+
+    private boolean hitOrReload(final Map<Long, Long> segment, final long key,
+        final long insertedAt, final long timestamp) {
+      if (isExpired(insertedAt, timestamp)) {
+        segment.put(key, timestamp);
+        return false;
+      }
+      return true;
+    }
+
+    private void admit(final Map.Entry<Long, Long> candidate) {
+      if (probation.size() + protectedSegment.size() < mainCapacity) {
+        probation.put(candidate.getKey(), candidate.getValue());
+        return;
+      }
+
+      Long victim = probation.isEmpty()
+          ? protectedSegment.keySet().iterator().next()
+          : probation.keySet().iterator().next();
+
+      if (sketch.frequency(candidate.getKey()) > sketch.frequency(victim)) {
+        if (probation.remove(victim) == null) {
+          protectedSegment.remove(victim);
+        }
+        probation.put(candidate.getKey(), candidate.getValue());
+      }
+    }
+
+    private static Map.Entry<Long, Long> removeEldest(final LinkedHashMap<Long, Long> segment) {
+      Iterator<Map.Entry<Long, Long>> iterator = segment.entrySet().iterator();
+      Map.Entry<Long, Long> eldest = iterator.next();
+      Map.Entry<Long, Long> copy = Map.entry(eldest.getKey(), eldest.getValue());
+      iterator.remove();
+      return copy;
+    }
+  }
+
+  /**
+   * Count-min sketch of 4 rows with counters saturating at 15, halved every 10 * capacity
+   * increments so that old popularity fades.
+   */
+  static class FrequencySketch {
+
+    private static final long[] SEEDS = {
+        0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+
+    private final int[][] counters;
+
+    private final int mask;
+
+    private final int sampleSize;
+
+    private int additions;
+
+    FrequencySketch(final int capacity) {
+      int width = Integer.highestOneBit(Math.max(16, capacity) - 1) << 1;
+      counters = new int[SEEDS.length][width];
+      mask = width - 1;
+      sampleSize = 10 * Math.max(1, capacity);
+    }
+
+    void increment(final long key) {
+      for (int i = 0; i < SEEDS.length; i++) {
+        int index = index(key, i);
+        if (counters[i][index] < 15) {
+          counters[i][index]++;
+        }
+      }
+      if (++additions >= sampleSize) {
+        reset();
+      }
+    }
+
+    int frequency(final long key) {
+      int frequency = Integer.MAX_VALUE;
+      for (int i = 0; i < SEEDS.length; i++) {
+        frequency = Math.min(frequency, counters[i][index(key, i)]);
+      }
+      return frequency;
+    }
+
+    private int index(final long key, final int row) {
+      long hash = (key ^ SEEDS[row]) * 0x9e3779b97f4a7c15L;
+      return (int) (hash >>> 32) & mask;
+    }
+
+    private void reset() {
+      for (int[] row : counters) {
+        for (int i = 0; i < row.length; i++) {
+          row[i] >>>= 1;
+        }
+      }
+      additions /= 2;
+    }
+  }
+}
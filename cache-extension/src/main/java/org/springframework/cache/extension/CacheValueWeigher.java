@@ -0,0 +1,18 @@
+package org.springframework.cache.extension;
+
+/**
+ * CacheValueWeigher bean instances can be associated with CacheItemDefinition's in order to
+ * compute the weight (usually an estimated size in bytes) of cached values. Weights are used to
+ * refuse oversized values and to enforce memory budgets per cache and per definition.
+ */
+@FunctionalInterface
+public interface CacheValueWeigher {
+
+  /**
+   * Computes the weight of a cache entry.
+   * @param key the cache key.
+   * @param value the value to be cached, never null.
+   * @return the entry weight, must not be negative.
+   */
+  long weigh(Object key, Object value);
+}
@@ -0,0 +1,53 @@
+package org.springframework.cache.extension;
+
+import java.util.Map;
+
+/**
+ * CacheWeightRepository keeps track of the weight of cached entries and enforces memory budgets
+ * per cache and per CacheItemDefinition. Caches are identified by the bean name of their
+ * CacheManager and their name.
+ * Only caches that notify their evictions and expirations, as a CacheEntryRemovalListener, are
+ * weighed: the weight of entries removed by other caches would only be released when a later
+ * lookup of the same key misses.
+ */
+public interface CacheWeightRepository extends CacheEntryRemovalListener {
+
+  /**
+   * Sets the maximum total weight allowed for every cache with the given name.
+   */
+  void setCacheBudget(String cacheName, long maxWeight);
+
+  /**
+   * @return true if the cache notifies its removals, so its entries can be weighed.
+   */
+  boolean isTracked(String cacheManager, String cacheName);
+
+  /**
+   * Records the weight of an entry if it fits into the cache and definition budgets.
+   * @return true if the entry was admitted, false if it must not be cached.
+   */
+  boolean acquire(String cacheManager, String cacheName, Object key,
+      CacheItemDefinition cacheItemDefinition, long weight);
+
+  void release(String cacheManager, String cacheName, Object key);
+
+  void releaseAll(String cacheManager, String cacheName);
+
+  long getCacheWeight(String cacheManager, String cacheName);
+
+  /**
+   * Definitions are matched by signature, so an updated definition keeps the weight of the
+   * definition it replaced.
+   */
+  long getDefinitionWeight(CacheItemDefinition cacheItemDefinition);
+
+  /**
+   * Reports the current weight of every definition with weighed entries, by the latest definition
+   * admitted with each signature.
+   */
+  Map<CacheItemDefinition, Long> getDefinitionWeights();
+
+  static CacheWeightRepository getDefault() {
+    return new CacheWeightRepositoryImpl();
+  }
+}
@@ -0,0 +1,172 @@
+package org.springframework.cache.extension;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Usage is tracked per cache, by CacheManager bean name and cache name.
+ * Admission takes a lock per cache to check budgets. Releases on misses, evictions and
+ * removals are lock free, so lookups never contend on it.
+ * Definition weights are kept by definition signature, so they survive updates of a definition.
+ * Definition budgets are checked under the lock of each cache, concurrent puts into different
+ * caches may exceed them briefly.
+ */
+@Slf4j
+public class CacheWeightRepositoryImpl implements CacheWeightRepository {
+
+  private final ConcurrentHashMap<String, Long> budgets = new ConcurrentHashMap<>();
+
+  private final Set<CacheTier> tracked = ConcurrentHashMap.newKeySet();
+
+  private final ConcurrentHashMap<CacheTier, CacheUsage> caches = new ConcurrentHashMap<>();
+
+  private final ConcurrentHashMap<CacheItemDefinitionKey, DefinitionUsage> definitions = new ConcurrentHashMap<>();
+
+  @Override
+  public void setCacheBudget(@NonNull final String cacheName, final long maxWeight) {
+    log.info("Set cache budget: {}, max weight: {}", cacheName, maxWeight);
+    budgets.put(cacheName, maxWeight);
+  }
+
+  @Override
+  public void onRegistration(@NonNull final String cacheManager, @NonNull final String cacheName) {
+    log.info("Track cache weight: {}, cache manager: {}", cacheName, cacheManager);
+    tracked.add(new CacheTier(cacheManager, cacheName));
+  }
+
+  @Override
+  public boolean isTracked(@NonNull final String cacheManager, @NonNull final String cacheName) {
+    return tracked.contains(new CacheTier(cacheManager, cacheName));
+  }
+
+  @Override
+  public boolean acquire(@NonNull final String cacheManager, @NonNull final String cacheName,
+      @NonNull final Object key, @NonNull final CacheItemDefinition cacheItemDefinition,
+      final long weight) {
+    final CacheUsage usage = caches.computeIfAbsent(
+        new CacheTier(cacheManager, cacheName), tier -> new CacheUsage());
+    final CacheItemDefinitionKey definitionKey = CacheItemDefinitionKey.of(cacheItemDefinition);
+    final DefinitionUsage definitionUsage =
+        definitions.computeIfAbsent(definitionKey, signature -> new DefinitionUsage());
+
+    synchronized (usage) {
+      final WeighedEntry previous = usage.entries.get(key);
+      final long previousWeight = previous != null ? previous.weight : 0L;
+
+      final Long cacheBudget = budgets.get(cacheName);
+      if (cacheBudget != null && usage.weight.get() - previousWeight + weight > cacheBudget) {
+        log.debug("Cache budget exceeded: {}, cache manager: {}, weight: {}",
+            cacheName, cacheManager, weight);
+        return false;
+      }
+
+      final Long definitionBudget = cacheItemDefinition.getMaxWeight();
+      final long releasedDefinitionWeight =
+          previous != null && previous.definition.equals(definitionKey) ? previousWeight : 0L;
+      if (definitionBudget != null
+          && definitionUsage.weight.get() - releasedDefinitionWeight + weight > definitionBudget) {
+        log.debug("Definition budget exceeded: {}, weight: {}", cacheItemDefinition, weight);
+        return false;
+      }
+
+      // A concurrent release may have removed the previous entry already.
+      if (previous != null && usage.entries.remove(key, previous)) {
+        subtract(usage, previous);
+      }
+      usage.entries.put(key, new WeighedEntry(definitionKey, weight));
+      usage.weight.addAndGet(weight);
+      definitionUsage.definition = cacheItemDefinition;
+      definitionUsage.weight.addAndGet(weight);
+      return true;
+    }
+  }
+
+  @Override
+  public void release(@NonNull final String cacheManager, @NonNull final String cacheName,
+      @NonNull final Object key) {
+    release(caches.get(new CacheTier(cacheManager, cacheName)), key);
+  }
+
+  @Override
+  public void releaseAll(@NonNull final String cacheManager, @NonNull final String cacheName) {
+    final CacheUsage usage = caches.get(new CacheTier(cacheManager, cacheName));
+    if (usage != null) {
+      usage.entries.keySet().forEach(key -> release(usage, key));
+    }
+  }
+
+  @Override
+  public void onRemoval(final String cacheManager, final String cacheName, final Object key) {
+    release(cacheManager, cacheName, key);
+  }
+
+  @Override
+  public long getCacheWeight(@NonNull final String cacheManager, @NonNull final String cacheName) {
+    final CacheUsage usage = caches.get(new CacheTier(cacheManager, cacheName));
+    return usage != null ? usage.weight.get() : 0L;
+  }
+
+  @Override
+  public long getDefinitionWeight(@NonNull final CacheItemDefinition cacheItemDefinition) {
+    final DefinitionUsage definitionUsage =
+        definitions.get(CacheItemDefinitionKey.of(cacheItemDefinition));
+    return definitionUsage != null ? definitionUsage.weight.get() : 0L;
+  }
+
+  @Override
+  public Map<CacheItemDefinition, Long> getDefinitionWeights() {
+    final Map<CacheItemDefinition, Long> result = new LinkedHashMap<>();
+    for (DefinitionUsage definitionUsage : definitions.values()) {
+      final CacheItemDefinition definition = definitionUsage.definition;
+      if (definition != null) {
+        result.put(definition, definitionUsage.weight.get());
+      }
+    }
+    return result;
+  }
+
+  private void release(final CacheUsage usage, final Object key) {
+    if (usage != null) {
+      final WeighedEntry previous = usage.entries.remove(key);
+      if (previous != null) {
+        subtract(usage, previous);
+      }
+    }
+  }
+
+  private void subtract(final CacheUsage usage, final WeighedEntry entry) {
+    usage.weight.addAndGet(-entry.weight);
+    definitions.get(entry.definition).weight.addAndGet(-entry.weight);
+  }
+
+  private static class CacheUsage {
+
+    private final ConcurrentHashMap<Object, WeighedEntry> entries = new ConcurrentHashMap<>();
+
+    private final AtomicLong weight = new AtomicLong();
+  }
+
+  private static class DefinitionUsage {
+
+    /**
+     * Latest definition admitted with this signature.
+     */
+    private volatile CacheItemDefinition definition;
+
+    private final AtomicLong weight = new AtomicLong();
+  }
+
+  @RequiredArgsConstructor
+  private static class WeighedEntry {
+
+    private final CacheItemDefinitionKey definition;
+
+    private final long weight;
+  }
+}
@@ -0,0 +1,101 @@
+package org.springframework.cache.extension;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import lombok.NonNull;
+
+/**
+ * Immutable consistent hash ring with virtual nodes. Adding or removing a node returns a new ring,
+ * and only the keys owned by that node move.
+ * Hashes are computed from the string form of nodes and keys so routing is stable across JVMs.
+ */
+public class ConsistentHashRing<T> {
+
+  public static final int DEFAULT_VIRTUAL_NODES = 160;
+
+  private final int virtualNodes;
+
+  private final List<T> nodes;
+
+  private final NavigableMap<Long, T> ring;
+
+  public ConsistentHashRing(@NonNull final Collection<T> nodes) {
+    this(nodes, DEFAULT_VIRTUAL_NODES);
+  }
+
+  public ConsistentHashRing(@NonNull final Collection<T> nodes, final int virtualNodes) {
+    if (virtualNodes <= 0) {
+      throw new IllegalArgumentException("Virtual nodes must be positive: " + virtualNodes);
+    }
+    this.virtualNodes = virtualNodes;
+    this.nodes = Collections.unmodifiableList(new ArrayList<>(nodes));
+
+    final TreeMap<Long, T> map = new TreeMap<>();
+    for (T node : this.nodes) {
+      for (int i = 0; i < virtualNodes; i++) {
+        map.put(hash(node + "#" + i), node);
+      }
+    }
+    this.ring = Collections.unmodifiableNavigableMap(map);
+  }
+
+  public List<T> getNodes() {
+    return nodes;
+  }
+
+  public boolean isEmpty() {
+    return nodes.isEmpty();
+  }
+
+  /**
+   * @return the node owning the key, or null if the ring is empty.
+   */
+  public T route(@NonNull final Object key) {
+    if (ring.isEmpty()) {
+      return null;
+    }
+    final Map.Entry<Long, T> entry = ring.ceilingEntry(hash(String.valueOf(key)));
+    return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+  }
+
+  public ConsistentHashRing<T> add(@NonNull final T node) {
+    if (nodes.contains(node)) {
+      return this;
+    }
+    final List<T> copy = new ArrayList<>(nodes);
+    copy.add(node);
+    return new ConsistentHashRing<>(copy, virtualNodes);
+  }
+
+  public ConsistentHashRing<T> remove(@NonNull final T node) {
+    if (!nodes.contains(node)) {
+      return this;
+    }
+    final List<T> copy = new ArrayList<>(nodes);
+    copy.remove(node);
+    return new ConsistentHashRing<>(copy, virtualNodes);
+  }
+
+  /**
+   * 64-bit FNV-1a followed by the MurmurHash3 finalizer to spread similar strings over the ring.
+   */
+  static long hash(final String value) {
+    long hash = 0xcbf29ce484222325L;
+    for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+      hash ^= b & 0xff;
+      hash *= 0x100000001b3L;
+    }
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+}
@@ -0,0 +1,130 @@
+package org.springframework.cache.extension;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.Callable;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+
+/**
+ * Stores every value once under a key derived from its SHA-256 content digest, and caches a
+ * ContentReference under the original key. Values that are not Serializable are stored as is.
+ * Value entries are written with putIfAbsent and never evicted explicitly, they expire with the
+ * cache time to live. A reference whose value is gone is a miss.
+ */
+@Slf4j
+class ContentAddressedCache extends CacheDecorator {
+
+  static final String VALUE_KEY_PREFIX = "value::";
+
+  ContentAddressedCache(@NonNull final Cache delegate) {
+    super(delegate);
+  }
+
+  @Override
+  public ValueWrapper get(Object key) {
+    ValueWrapper valueWrapper = delegate.get(key);
+    if (valueWrapper != null && valueWrapper.get() instanceof ContentReference) {
+      return delegate.get(valueKey((ContentReference) valueWrapper.get()));
+    }
+    return valueWrapper;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T get(Object key, Class<T> type) {
+    ValueWrapper valueWrapper = get(key);
+    Object value = valueWrapper != null ? valueWrapper.get() : null;
+    if (value != null && type != null && !type.isInstance(value)) {
+      throw new IllegalStateException(
+          "Cached value is not of required type [" + type.getName() + "]: " + value);
+    }
+    return (T) value;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T get(Object key, Callable<T> valueLoader) {
+    ValueWrapper valueWrapper = get(key);
+    if (valueWrapper != null) {
+      return (T) valueWrapper.get();
+    }
+    T value;
+    try {
+      value = valueLoader.call();
+    } catch (Exception e) {
+      throw new ValueRetrievalException(key, valueLoader, e);
+    }
+    put(key, value);
+    return value;
+  }
+
+  @Override
+  public void put(Object key, Object value) {
+    ContentReference contentReference = store(value);
+    delegate.put(key, contentReference != null ? contentReference : value);
+  }
+
+  @Override
+  public ValueWrapper putIfAbsent(Object key, Object value) {
+    ContentReference contentReference = store(value);
+    Object stored = contentReference != null ? contentReference : value;
+
+    ValueWrapper previous = delegate.putIfAbsent(key, stored);
+    if (previous != null && previous.get() instanceof ContentReference) {
+      ValueWrapper previousValue = delegate.get(valueKey((ContentReference) previous.get()));
+      if (previousValue != null) {
+        return previousValue;
+      }
+      // The referenced value expired, replaces the dangling reference.
+      delegate.put(key, stored);
+      return null;
+    }
+    return previous;
+  }
+
+  /**
+   * Stores the value under its content key.
+   * @return the reference to the value, or null if the value can not be content addressed.
+   */
+  private ContentReference store(final Object value) {
+    if (!(value instanceof Serializable)) {
+      return null;
+    }
+    String digest = digest((Serializable) value);
+    if (digest == null) {
+      return null;
+    }
+    ContentReference contentReference = new ContentReference(digest);
+    delegate.putIfAbsent(valueKey(contentReference), value);
+    return contentReference;
+  }
+
+  private static String valueKey(final ContentReference contentReference) {
+    return VALUE_KEY_PREFIX + contentReference.getDigest();
+  }
+
+  private static String digest(final Serializable value) {
+    try {
+      MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+      try (ObjectOutputStream out = new ObjectOutputStream(
+          new DigestOutputStream(OutputStream.nullOutputStream(), messageDigest))) {
+        out.writeObject(value);
+      }
+      StringBuilder hex = new StringBuilder();
+      for (byte b : messageDigest.digest()) {
+        hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+      }
+      return hex.toString();
+    } catch (IOException | NoSuchAlgorithmException e) {
+      log.debug("Value can not be content addressed: {}", value.getClass(), e);
+      return null;
+    }
+  }
+}
@@ -0,0 +1,22 @@
+package org.springframework.cache.extension;
+
+import java.io.Serializable;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Cached in place of a value stored by content digest, see {@link ValueDeduplication#CONTENT_ADDRESSED}.
+ * A bean with a default constructor so JSON and JDK serializers can handle it.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContentReference implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private String digest;
+}
@@ -4,10 +4,13 @@ import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -35,24 +38,56 @@ public class DynamicCacheResolver implements CacheResolver, ApplicationContextAw
 
   private final CacheManagerRepository cacheManagerRepository;
 
+  private final CacheWeightRepository cacheWeightRepository;
+
+  private final CachePartitionRepository cachePartitionRepository;
+
+  private final Set<Method> warnedMethods = ConcurrentHashMap.newKeySet();
+
+  private final Set<List<String>> warnedCaches = ConcurrentHashMap.newKeySet();
+
+  /**
+   * Canonical values by definition signature, definitions never share instances.
+   */
+  private final Map<CacheItemDefinitionKey, ValueInterner> valueInterners = new ConcurrentHashMap<>();
+
+  /**
+   * Hash rings by sharded CacheManager bean names, for the definitions of ringsVersion.
+   */
+  private final Map<List<String>, ConsistentHashRing<String>> rings = new ConcurrentHashMap<>();
+
+  private volatile long ringsVersion = -1;
+
   private ApplicationContext applicationContext;
 
+  private volatile CacheAccessTraceRecorder cacheAccessTraceRecorder;
+
   @Override
   public Collection<? extends Cache> resolveCaches(CacheOperationInvocationContext<?> context) {
     CacheItemDefinition cacheItemDefinition = cacheItemRepository.findByContext(
         context.getTarget(), context.getMethod(), context.getArgs());
 
     List<Cache> cacheList = new ArrayList<>();
+    // CacheManager bean name of every cache of cacheList, null for sharded caches.
+    List<String> cacheManagerNames = new ArrayList<>();
 
     if (cacheItemDefinition == null) {
-      log.warn("No cache item definition found in class {}, method {}.",
-          context.getTarget().getClass(), context.getMethod().getName());
+      // Warns once per method, this path runs on every invocation.
+      if (warnedMethods.add(context.getMethod())) {
+        log.warn("No cache item definition found in class {}, method {}.",
+            context.getTarget().getClass(), context.getMethod().getName());
+      }
 
-      findCachesInCacheableAnnotation(context.getMethod(), cacheList);
+      findCachesInCacheableAnnotation(context.getMethod(), cacheList, cacheManagerNames);
 
       return cacheList;
     }
 
+    if (cacheItemDefinition.isDisabled()) {
+      log.debug("Cache item definition disabled: {}", cacheItemDefinition);
+      return getNoOpCaches(cacheItemDefinition);
+    }
+
     List<NoOpCache> noOpCaches = getNoOpCachesWhenNoConditionMatch(context, cacheItemDefinition);
     if (noOpCaches != null) {
       return noOpCaches;
@@ -61,14 +96,110 @@ public class DynamicCacheResolver implements CacheResolver, ApplicationContextAw
     Set<String> cacheNames = cacheItemDefinition.getCacheNames();
     String cacheManagerName = cacheItemDefinition.getCacheManager();
 
-    findCachesInCacheManager(cacheManagerName, cacheNames, cacheList);
+    if (!CollectionUtils.isEmpty(cacheItemDefinition.getCacheManagers())) {
+      findShardedCaches(cacheItemDefinition, cacheNames, cacheList, cacheManagerNames);
+    } else {
+      findCachesInCacheManager(cacheItemDefinition, cacheManagerName, cacheNames, cacheList,
+          cacheManagerNames);
+    }
 
     if (cacheList.isEmpty()) {
       log.debug("No cache manager defined for this method.");
-      findCachesInCacheList(cacheNames, cacheList);
+      findCachesInCacheList(cacheItemDefinition, cacheNames, cacheList, cacheManagerNames);
     }
 
     log.debug("Cache list size: {}", cacheList.size());
+    return decorateCaches(context, cacheItemDefinition, cacheList, cacheManagerNames);
+  }
+
+  private List<Cache> decorateCaches(final CacheOperationInvocationContext<?> context,
+      final CacheItemDefinition cacheItemDefinition, final List<Cache> cacheList,
+      final List<String> cacheManagerNames) {
+    List<Cache> resolvedCaches = new ArrayList<>(cacheList);
+
+    ValueDeduplication valueDeduplication = cacheItemDefinition.getValueDeduplication();
+    if (valueDeduplication == ValueDeduplication.HEAP) {
+      ValueInterner valueInterner = valueInterners.computeIfAbsent(
+          CacheItemDefinitionKey.of(cacheItemDefinition), key -> new ValueInterner());
+      cacheList.replaceAll(cache -> new InterningCache(cache, valueInterner));
+    } else if (valueDeduplication == ValueDeduplication.CONTENT_ADDRESSED) {
+      cacheList.replaceAll(ContentAddressedCache::new);
+    }
+
+    String entryExpiryBeanName = cacheItemDefinition.getEntryExpiry();
+    if (entryExpiryBeanName != null) {
+      CacheEntryExpiry cacheEntryExpiry = applicationContext.getBean(
+          entryExpiryBeanName, CacheEntryExpiry.class);
+
+      cacheList.replaceAll(cache -> new ExpiringCache(cache, cacheEntryExpiry, context.getArgs()));
+    }
+
+    String valueWeigherBeanName = cacheItemDefinition.getValueWeigher();
+    CacheValueWeigher cacheValueWeigher = valueWeigherBeanName != null
+        ? applicationContext.getBean(valueWeigherBeanName, CacheValueWeigher.class)
+        : null;
+
+    if (cacheValueWeigher != null) {
+      for (int i = 0; i < cacheList.size(); i++) {
+        Cache cache = cacheList.get(i);
+        String cacheManagerName = cacheManagerNames.get(i);
+        if (cacheManagerName != null
+            && cacheWeightRepository.isTracked(cacheManagerName, cache.getName())) {
+          cacheList.set(i, new WeighedCache(
+              cache, cacheManagerName, cacheItemDefinition, cacheValueWeigher, cacheWeightRepository));
+        } else {
+          warnUntracked("weighed", cacheManagerName, cache.getName());
+        }
+      }
+    }
+
+    Object partition = null;
+    String partitionExtractorBeanName = cacheItemDefinition.getPartitionExtractor();
+    if (partitionExtractorBeanName != null) {
+      CachePartitionExtractor cachePartitionExtractor = applicationContext.getBean(
+          partitionExtractorBeanName, CachePartitionExtractor.class);
+
+      partition = cachePartitionExtractor.extract(
+          context.getTarget(), context.getMethod(), context.getArgs());
+      if (partition != null) {
+        for (int i = 0; i < cacheList.size(); i++) {
+          Cache cache = cacheList.get(i);
+          String cacheManagerName = cacheManagerNames.get(i);
+          if (cacheManagerName != null
+              && cachePartitionRepository.isTracked(cacheManagerName, cache.getName())) {
+            cacheList.set(i, new PartitionedCache(cache, cacheManagerName, cacheItemDefinition,
+                partition, cacheValueWeigher, cachePartitionRepository));
+          } else {
+            warnUntracked("partitioned", cacheManagerName, cache.getName());
+          }
+        }
+      }
+    }
+
+    // Outside every tier that may refuse or skip a put, so misses are traced with their load time.
+    if (cacheItemDefinition.getTraceSampleRate() != null) {
+      CacheAccessTraceRecorder cacheAccessTraceRecorder = getCacheAccessTraceRecorder();
+      if (cacheAccessTraceRecorder != null) {
+        for (int i = 0; i < cacheList.size(); i++) {
+          Cache cache = cacheList.get(i);
+          cacheList.set(i, new TracingCache(cache, cacheItemDefinition, cacheAccessTraceRecorder,
+              cache instanceof PartitionedCache ? partition : null));
+        }
+      }
+    }
+
+    // Outside every tier that may refuse or skip a put, so loads are recorded whether cached or not.
+    if (isRecording(cacheItemDefinition)) {
+      for (int i = 0; i < cacheList.size(); i++) {
+        cacheList.set(i, new LoadRecordingCache(cacheList.get(i), resolvedCaches.get(i)));
+      }
+    }
+
+    // Outermost, so memoized lookups skip every other tier.
+    CacheMemoScope cacheMemoScope = CacheMemoScope.current();
+    if (cacheItemDefinition.isRequestScoped() && cacheMemoScope != null) {
+      cacheList.replaceAll(cache -> new MemoCache(cache, cacheMemoScope));
+    }
     return cacheList;
   }
 
@@ -79,57 +210,155 @@ public class DynamicCacheResolver implements CacheResolver, ApplicationContextAw
       CacheableConditionEvaluator cacheableConditionEvaluator = applicationContext.getBean(
           cacheableConditionEvaluatorBeanName, CacheableConditionEvaluator.class);
 
+      CacheConditionEvaluationEvent event = new CacheConditionEvaluationEvent();
+      event.begin();
+
       boolean matchCondition = cacheableConditionEvaluator.evaluate(
           context.getTarget(), context.getMethod(), context.getArgs());
 
+      event.end();
+      if (event.shouldCommit()) {
+        event.type = context.getTarget().getClass();
+        event.method = context.getMethod().getName();
+        event.conditionEvaluator = cacheableConditionEvaluatorBeanName;
+        event.matched = matchCondition;
+        event.commit();
+      }
+
       if (!matchCondition) {
         log.warn("Condition no matching cacheable method: {}-{}",
             context.getTarget().getClass(), context.getMethod());
 
-        return cacheItemDefinition.getCacheNames().stream()
-            .map(NoOpCache::new)
-            .collect(Collectors.toList());
+        return getNoOpCaches(cacheItemDefinition);
       }
     }
     return null;
   }
 
-  private void findCachesInCacheableAnnotation(final Method method, final List<Cache> cacheList) {
+  private List<NoOpCache> getNoOpCaches(final CacheItemDefinition cacheItemDefinition) {
+    return cacheItemDefinition.getCacheNames().stream()
+        .map(NoOpCache::new)
+        .collect(Collectors.toList());
+  }
+
+  private void findCachesInCacheableAnnotation(final Method method, final List<Cache> cacheList,
+      final List<String> cacheManagerNames) {
     log.debug("Fallback: find cache names from Cacheable annotation...");
 
     Optional.ofNullable(method.getAnnotation(Cacheable.class))
         .map(Cacheable::cacheNames)
         .map(cacheNames -> new LinkedHashSet(Arrays.asList(cacheNames)))
-        .ifPresent(cacheNames -> findCachesInCacheList(cacheNames, cacheList));
+        .ifPresent(cacheNames -> findCachesInCacheList(null, cacheNames, cacheList, cacheManagerNames));
   }
 
-  private void findCachesInCacheManager(
-      final String cacheManagerName, final Set<String> cacheNames, final List<Cache> result) {
+  private void findCachesInCacheManager(final CacheItemDefinition cacheItemDefinition,
+      final String cacheManagerName, final Set<String> cacheNames, final List<Cache> result,
+      final List<String> cacheManagerNames) {
     if (cacheManagerName != null) {
       log.debug("Find cache names in cache manager: {}", cacheManagerName);
       CacheManager cacheManager = cacheManagerRepository.findByName(cacheManagerName);
       if (cacheManager != null) {
         for (String cacheName : cacheNames) {
           Optional.ofNullable(cacheManager.getCache(cacheName))
-              .ifPresent(result::add);
+              .ifPresent(cache -> {
+                result.add(record(cacheItemDefinition, cacheManagerName, cache));
+                cacheManagerNames.add(cacheManagerName);
+              });
         }
       }
     }
   }
 
-  private void findCachesInCacheList(final Set<String> cacheNames, final List<Cache> result) {
-    log.debug("Cache names: {}", String.join(",", cacheNames));
+  private void findShardedCaches(final CacheItemDefinition cacheItemDefinition,
+      final Set<String> cacheNames, final List<Cache> result, final List<String> cacheManagerNames) {
+    List<String> shards = cacheItemDefinition.getCacheManagers();
+    log.debug("Find sharded cache names in cache managers: {}", shards);
+
+    for (String cacheName : cacheNames) {
+      Map<String, Cache> caches = new LinkedHashMap<>();
+      for (String name : shards) {
+        CacheManager cacheManager = cacheManagerRepository.findByName(name);
+        if (cacheManager != null) {
+          Optional.ofNullable(cacheManager.getCache(cacheName))
+              .ifPresent(cache -> caches.put(name, record(cacheItemDefinition, name, cache)));
+        }
+      }
+      if (!caches.isEmpty()) {
+        // Only the CacheManagers serving the cache own keys, so no key routes to a missing cache.
+        ConsistentHashRing<String> ring = findRing(new ArrayList<>(caches.keySet()));
+        result.add(new ShardedCache(cacheName, ring, caches));
+        cacheManagerNames.add(null);
+      }
+    }
+  }
+
+  private ConsistentHashRing<String> findRing(final List<String> cacheManagerNames) {
+    long version = cacheItemRepository.getVersion();
+    if (version != ringsVersion) {
+      // Drops the rings of definitions that were changed or removed.
+      rings.clear();
+      ringsVersion = version;
+    }
+    return rings.computeIfAbsent(cacheManagerNames, ConsistentHashRing::new);
+  }
+
+  private void findCachesInCacheList(final CacheItemDefinition cacheItemDefinition,
+      final Set<String> cacheNames, final List<Cache> result, final List<String> cacheManagerNames) {
+    if (log.isDebugEnabled()) {
+      log.debug("Cache names: {}", String.join(",", cacheNames));
+    }
     for (String cacheName : cacheNames) {
       Collection<CacheManager> cacheManagers = cacheManagerRepository.findAllByCacheName(cacheName);
       if (!CollectionUtils.isEmpty(cacheManagers)) {
         for (CacheManager cacheManager : cacheManagers) {
           Optional.ofNullable(cacheManager.getCache(cacheName))
-              .ifPresent(result::add);
+              .ifPresent(cache -> {
+                String cacheManagerName = cacheManagerRepository.findNameByCacheManager(cacheManager);
+                result.add(record(cacheItemDefinition, cacheManagerName, cache));
+                cacheManagerNames.add(cacheManagerName);
+              });
         }
       }
     }
   }
 
+  /**
+   * Wraps a cache found in a CacheManager into a RecordingCache while JFR records cache accesses or
+   * loads, so every event is labelled with the CacheManager that actually serves it.
+   */
+  private Cache record(final CacheItemDefinition cacheItemDefinition,
+      final String cacheManagerName, final Cache cache) {
+    return isRecording(cacheItemDefinition)
+        ? new RecordingCache(cache, cacheItemDefinition, cacheManagerName)
+        : cache;
+  }
+
+  /**
+   * Warns once per cache that is not weighed or partitioned because it does not notify its
+   * removals, the extension would otherwise track its entries forever.
+   */
+  private void warnUntracked(final String decoration, final String cacheManagerName,
+      final String cacheName) {
+    if (warnedCaches.add(Arrays.asList(decoration, cacheManagerName, cacheName))) {
+      log.warn("Cache {} of cache manager {} is not {}, it does not notify its removals.",
+          cacheName, cacheManagerName, decoration);
+    }
+  }
+
+  private boolean isRecording(final CacheItemDefinition cacheItemDefinition) {
+    return cacheItemDefinition != null
+        && (CacheAccessEvent.isRecording() || CacheLoadEvent.isRecording());
+  }
+
+  private CacheAccessTraceRecorder getCacheAccessTraceRecorder() {
+    CacheAccessTraceRecorder recorder = cacheAccessTraceRecorder;
+    if (recorder == null) {
+      recorder = applicationContext.getBeanProvider(CacheAccessTraceRecorder.class).getIfAvailable();
+      cacheAccessTraceRecorder = recorder;
+    }
+    return recorder;
+  }
+
   @Override
   public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
     log.info("Application context injected.");
@@ -20,9 +20,24 @@ public class DynamicKeyGenerator implements KeyGenerator {
 
   @Override
   public final Object generate(Object target, Method method, Object... params) {
-    //Finds Cache Item definition by context
-    CacheItemDefinition cacheItemDefinition = cacheItemRepository.findByContext(target, method, params);
+    CacheKeyGenerationEvent event = new CacheKeyGenerationEvent();
+    event.begin();
+
+    final CacheItemDefinition cacheItemDefinition = cacheItemRepository.findByContext(target, method, params);
+    final Object key = generate(cacheItemDefinition, target, method, params);
+
+    event.end();
+    if (event.shouldCommit()) {
+      event.type = target.getClass();
+      event.method = method.getName();
+      event.keyGenerator = cacheItemDefinition != null ? cacheItemDefinition.getKeyGenerator() : null;
+      event.commit();
+    }
+    return key;
+  }
 
+  private Object generate(final CacheItemDefinition cacheItemDefinition,
+      final Object target, final Method method, final Object... params) {
     if (cacheItemDefinition == null) {
       //Use default if none was provided.
       return new SimpleKeyGenerator().generate(target, method, params);
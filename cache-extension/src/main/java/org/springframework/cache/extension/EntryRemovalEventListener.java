@@ -0,0 +1,56 @@
+package org.springframework.cache.extension;
+
+import java.util.Arrays;
+import java.util.List;
+import lombok.NonNull;
+import org.ehcache.config.builders.CacheEventListenerConfigurationBuilder;
+import org.ehcache.event.CacheEvent;
+import org.ehcache.event.CacheEventListener;
+import org.ehcache.event.EventType;
+
+/**
+ * Ehcache event listener forwarding evictions and expirations of a cache to
+ * CacheEntryRemovalListener's, such as the CacheWeightRepository. The listeners are registered for
+ * the cache when the listener is created.
+ */
+public class EntryRemovalEventListener implements CacheEventListener<Object, Object> {
+
+  private final String cacheManager;
+
+  private final String cacheName;
+
+  private final List<CacheEntryRemovalListener> listeners;
+
+  /**
+   * @param cacheManager the bean name of the Spring CacheManager serving the cache.
+   * @param cacheName the cache name.
+   */
+  public EntryRemovalEventListener(@NonNull final String cacheManager,
+      @NonNull final String cacheName, @NonNull final CacheEntryRemovalListener... listeners) {
+    this.cacheManager = cacheManager;
+    this.cacheName = cacheName;
+    this.listeners = Arrays.asList(listeners);
+    this.listeners.forEach(listener -> listener.onRegistration(cacheManager, cacheName));
+  }
+
+  /**
+   * Creates the listener configuration for a cache. Events are delivered synchronously and in
+   * order, so a removal is never applied after a later put of the same key.
+   */
+  public static CacheEventListenerConfigurationBuilder newConfiguration(final String cacheManager,
+      final String cacheName, final CacheEntryRemovalListener... listeners) {
+    return CacheEventListenerConfigurationBuilder
+        .newEventListenerConfiguration(
+            new EntryRemovalEventListener(cacheManager, cacheName, listeners),
+            EventType.EVICTED, EventType.EXPIRED)
+        .ordered()
+        .synchronous();
+  }
+
+  @Override
+  public void onEvent(CacheEvent<?, ?> cacheEvent) {
+    for (CacheEntryRemovalListener listener : listeners) {
+      listener.onRemoval(cacheManager, cacheName, cacheEvent.getKey());
+    }
+  }
+}
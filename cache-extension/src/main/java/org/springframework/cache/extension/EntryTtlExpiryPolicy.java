@@ -0,0 +1,35 @@
+package org.springframework.cache.extension;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.ehcache.expiry.ExpiryPolicy;
+
+/**
+ * Ehcache expiry policy applying the time to live computed by the CacheEntryExpiry of the
+ * definition, or the default time to live otherwise.
+ */
+@RequiredArgsConstructor
+public class EntryTtlExpiryPolicy implements ExpiryPolicy<Object, Object> {
+
+  @NonNull
+  private final Duration defaultTtl;
+
+  @Override
+  public Duration getExpiryForCreation(Object key, Object value) {
+    Duration ttl = CacheEntryTtl.current();
+    return ttl != null ? ttl : defaultTtl;
+  }
+
+  @Override
+  public Duration getExpiryForAccess(Object key, Supplier<? extends Object> value) {
+    // Unchanged.
+    return null;
+  }
+
+  @Override
+  public Duration getExpiryForUpdate(Object key, Supplier<? extends Object> oldValue, Object newValue) {
+    return getExpiryForCreation(key, newValue);
+  }
+}
@@ -0,0 +1,64 @@
+package org.springframework.cache.extension;
+
+import java.time.Duration;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.cache.CacheStatistics;
+import org.springframework.data.redis.cache.CacheStatisticsCollector;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+
+/**
+ * RedisCacheWriter applying the time to live computed by the CacheEntryExpiry of the definition,
+ * or the RedisCache time to live otherwise.
+ */
+@RequiredArgsConstructor
+public class EntryTtlRedisCacheWriter implements RedisCacheWriter {
+
+  @NonNull
+  private final RedisCacheWriter delegate;
+
+  @Override
+  public void put(String name, byte[] key, byte[] value, Duration ttl) {
+    delegate.put(name, key, value, ttl(ttl));
+  }
+
+  @Override
+  public byte[] get(String name, byte[] key) {
+    return delegate.get(name, key);
+  }
+
+  @Override
+  public byte[] putIfAbsent(String name, byte[] key, byte[] value, Duration ttl) {
+    return delegate.putIfAbsent(name, key, value, ttl(ttl));
+  }
+
+  @Override
+  public void remove(String name, byte[] key) {
+    delegate.remove(name, key);
+  }
+
+  @Override
+  public void clean(String name, byte[] pattern) {
+    delegate.clean(name, pattern);
+  }
+
+  @Override
+  public void clearStatistics(String name) {
+    delegate.clearStatistics(name);
+  }
+
+  @Override
+  public RedisCacheWriter withStatisticsCollector(CacheStatisticsCollector cacheStatisticsCollector) {
+    return new EntryTtlRedisCacheWriter(delegate.withStatisticsCollector(cacheStatisticsCollector));
+  }
+
+  @Override
+  public CacheStatistics getCacheStatistics(String cacheName) {
+    return delegate.getCacheStatistics(cacheName);
+  }
+
+  private static Duration ttl(final Duration defaultTtl) {
+    Duration ttl = CacheEntryTtl.current();
+    return ttl != null ? ttl : defaultTtl;
+  }
+}
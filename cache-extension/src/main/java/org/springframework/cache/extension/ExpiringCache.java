@@ -0,0 +1,85 @@
+package org.springframework.cache.extension;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+
+/**
+ * Computes the time to live of every value put with the definition CacheEntryExpiry, from the
+ * invocation arguments, the value and the time elapsed since the cache miss. Values with a zero or
+ * negative time to live are not cached.
+ * Values loaded through {@link #get(Object, Callable)} are timed and put the same way, the load is
+ * not synchronized then.
+ */
+@Slf4j
+class ExpiringCache extends CacheDecorator {
+
+  private final CacheEntryExpiry cacheEntryExpiry;
+
+  private final Object[] args;
+
+  private long missNanos;
+
+  ExpiringCache(@NonNull final Cache delegate, @NonNull final CacheEntryExpiry cacheEntryExpiry,
+      final Object[] args) {
+    super(delegate);
+    this.cacheEntryExpiry = cacheEntryExpiry;
+    this.args = args;
+  }
+
+  @Override
+  public ValueWrapper get(Object key) {
+    ValueWrapper valueWrapper = delegate.get(key);
+    if (valueWrapper == null) {
+      missNanos = System.nanoTime();
+    }
+    return valueWrapper;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T get(Object key, Callable<T> valueLoader) {
+    ValueWrapper valueWrapper = get(key);
+    if (valueWrapper != null) {
+      return (T) valueWrapper.get();
+    }
+    T value;
+    try {
+      value = valueLoader.call();
+    } catch (Exception e) {
+      throw new ValueRetrievalException(key, valueLoader, e);
+    }
+    put(key, value);
+    return value;
+  }
+
+  @Override
+  public void put(Object key, Object value) {
+    Duration ttl = expireAfter(value);
+    if (ttl != null && (ttl.isZero() || ttl.isNegative())) {
+      log.debug("Skip caching, cache: {}, ttl: {}", getName(), ttl);
+      return;
+    }
+    CacheEntryTtl.runWith(ttl, () -> delegate.put(key, value));
+  }
+
+  @Override
+  public ValueWrapper putIfAbsent(Object key, Object value) {
+    Duration ttl = expireAfter(value);
+    if (ttl != null && (ttl.isZero() || ttl.isNegative())) {
+      log.debug("Skip caching, cache: {}, ttl: {}", getName(), ttl);
+      return null;
+    }
+    ValueWrapper[] existing = new ValueWrapper[1];
+    CacheEntryTtl.runWith(ttl, () -> existing[0] = delegate.putIfAbsent(key, value));
+    return existing[0];
+  }
+
+  private Duration expireAfter(final Object value) {
+    Duration loadTime = missNanos != 0 ? Duration.ofNanos(System.nanoTime() - missNanos) : Duration.ZERO;
+    missNanos = 0;
+    return cacheEntryExpiry.expireAfter(args, value, loadTime);
+  }
+}
@@ -0,0 +1,34 @@
+package org.springframework.cache.extension;
+
+import java.util.concurrent.Callable;
+import lombok.NonNull;
+import org.springframework.cache.Cache;
+
+/**
+ * Stores the canonical instance of every value, so keys with equal values share one instance.
+ */
+class InterningCache extends CacheDecorator {
+
+  private final ValueInterner valueInterner;
+
+  InterningCache(@NonNull final Cache delegate, @NonNull final ValueInterner valueInterner) {
+    super(delegate);
+    this.valueInterner = valueInterner;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T get(Object key, Callable<T> valueLoader) {
+    return delegate.get(key, () -> (T) valueInterner.intern(valueLoader.call()));
+  }
+
+  @Override
+  public void put(Object key, Object value) {
+    delegate.put(key, valueInterner.intern(value));
+  }
+
+  @Override
+  public ValueWrapper putIfAbsent(Object key, Object value) {
+    return delegate.putIfAbsent(key, valueInterner.intern(value));
+  }
+}
@@ -0,0 +1,48 @@
+package org.springframework.cache.extension;
+
+import java.util.concurrent.Callable;
+import lombok.NonNull;
+import org.springframework.cache.Cache;
+
+/**
+ * Commits the {@link CacheLoadEvent} begun by a miss of the resolved cache when the loaded value is
+ * put, or when the value loader of a synchronized lookup returns.
+ * It wraps every tier that may refuse or skip a put, so loads are recorded whether or not the value
+ * is cached. Values vetoed by {@code unless} are never handed to the cache, so their load is not
+ * recorded.
+ */
+class LoadRecordingCache extends CacheDecorator {
+
+  /**
+   * The cache found in the CacheManagers, before any decoration.
+   */
+  private final Cache resolved;
+
+  LoadRecordingCache(@NonNull final Cache delegate, @NonNull final Cache resolved) {
+    super(delegate);
+    this.resolved = resolved;
+  }
+
+  @Override
+  public <T> T get(Object key, Callable<T> valueLoader) {
+    return delegate.get(key, () -> {
+      try {
+        return valueLoader.call();
+      } finally {
+        RecordingCache.commitLoadEvents(resolved);
+      }
+    });
+  }
+
+  @Override
+  public void put(Object key, Object value) {
+    RecordingCache.commitLoadEvents(resolved);
+    delegate.put(key, value);
+  }
+
+  @Override
+  public ValueWrapper putIfAbsent(Object key, Object value) {
+    RecordingCache.commitLoadEvents(resolved);
+    return delegate.putIfAbsent(key, value);
+  }
+}
@@ -0,0 +1,97 @@
+package org.springframework.cache.extension;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import lombok.NonNull;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+/**
+ * Looks up values in the current CacheMemoScope before the shared cache, and memoizes values read
+ * from or written to the shared cache.
+ */
+class MemoCache extends CacheDecorator {
+
+  private final Map<Object, ValueWrapper> memo;
+
+  MemoCache(@NonNull final Cache delegate, @NonNull final CacheMemoScope scope) {
+    super(delegate);
+    this.memo = scope.getMemo(delegate.getName());
+  }
+
+  @Override
+  public ValueWrapper get(Object key) {
+    ValueWrapper valueWrapper = memo.get(key);
+    if (valueWrapper == null) {
+      valueWrapper = delegate.get(key);
+      if (valueWrapper != null) {
+        memo.put(key, valueWrapper);
+      }
+    }
+    return valueWrapper;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T get(Object key, Class<T> type) {
+    ValueWrapper valueWrapper = memo.get(key);
+    if (valueWrapper != null) {
+      Object value = valueWrapper.get();
+      if (value != null && type != null && !type.isInstance(value)) {
+        throw new IllegalStateException(
+            "Cached value is not of required type [" + type.getName() + "]: " + value);
+      }
+      return (T) value;
+    }
+    return delegate.get(key, type);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T get(Object key, Callable<T> valueLoader) {
+    ValueWrapper valueWrapper = memo.get(key);
+    if (valueWrapper != null) {
+      return (T) valueWrapper.get();
+    }
+    T value = delegate.get(key, valueLoader);
+    memo.put(key, new SimpleValueWrapper(value));
+    return value;
+  }
+
+  @Override
+  public void put(Object key, Object value) {
+    memo.put(key, new SimpleValueWrapper(value));
+    delegate.put(key, value);
+  }
+
+  @Override
+  public ValueWrapper putIfAbsent(Object key, Object value) {
+    ValueWrapper existing = delegate.putIfAbsent(key, value);
+    memo.put(key, existing != null ? existing : new SimpleValueWrapper(value));
+    return existing;
+  }
+
+  @Override
+  public void evict(Object key) {
+    memo.remove(key);
+    delegate.evict(key);
+  }
+
+  @Override
+  public boolean evictIfPresent(Object key) {
+    memo.remove(key);
+    return delegate.evictIfPresent(key);
+  }
+
+  @Override
+  public void clear() {
+    memo.clear();
+    delegate.clear();
+  }
+
+  @Override
+  public boolean invalidate() {
+    memo.clear();
+    return delegate.invalidate();
+  }
+}
@@ -0,0 +1,52 @@
+package org.springframework.cache.extension;
+
+import java.io.Serializable;
+import java.util.Objects;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Key of an entry cached by a partition, for keys that are not strings.
+ * Its string form is the one of scoped string keys, partition::key, used by Redis and key hashing.
+ */
+@RequiredArgsConstructor
+final class PartitionScopedKey implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  @NonNull
+  private final Object partition;
+
+  @NonNull
+  private final Object key;
+
+  /**
+   * @return the key under which the partition stores the entry of the given key. String keys are
+   *     scoped as strings, so caches typed by string keys keep working.
+   */
+  static Object scope(final Object partition, final Object key) {
+    return key instanceof String ? partition + "::" + key : new PartitionScopedKey(partition, key);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    PartitionScopedKey that = (PartitionScopedKey) o;
+    return partition.equals(that.partition) && key.equals(that.key);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(partition, key);
+  }
+
+  @Override
+  public String toString() {
+    return partition + "::" + key;
+  }
+}
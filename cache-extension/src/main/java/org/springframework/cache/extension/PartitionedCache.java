@@ -0,0 +1,147 @@
+package org.springframework.cache.extension;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import lombok.NonNull;
+import org.springframework.cache.Cache;
+
+/**
+ * Enforces the entry and weight quotas of the invocation partition, evicting the least recently
+ * used entries of the same partition instead of other partitions' working sets.
+ * Entries are stored under keys scoped to the partition, so every entry is owned by a single
+ * partition and partitions never evict each other's entries.
+ * Only caches notifying their removals to the CachePartitionRepository are partitioned, see
+ * {@link EntryRemovalEventListener}, so entries removed by the underlying cache are released.
+ */
+class PartitionedCache extends CacheDecorator {
+
+  private final String cacheManager;
+
+  private final CacheItemDefinition cacheItemDefinition;
+
+  private final Object partition;
+
+  private final CacheValueWeigher cacheValueWeigher;
+
+  private final CachePartitionRepository cachePartitionRepository;
+
+  PartitionedCache(@NonNull final Cache delegate, @NonNull final String cacheManager,
+      @NonNull final CacheItemDefinition cacheItemDefinition, @NonNull final Object partition,
+      final CacheValueWeigher cacheValueWeigher,
+      @NonNull final CachePartitionRepository cachePartitionRepository) {
+    super(delegate);
+    this.cacheManager = cacheManager;
+    this.cacheItemDefinition = cacheItemDefinition;
+    this.partition = partition;
+    this.cacheValueWeigher = cacheValueWeigher;
+    this.cachePartitionRepository = cachePartitionRepository;
+  }
+
+  @Override
+  public ValueWrapper get(Object key) {
+    Object scopedKey = scope(key);
+    ValueWrapper valueWrapper = delegate.get(scopedKey);
+    if (valueWrapper != null) {
+      cachePartitionRepository.touch(cacheManager, getName(), partition, scopedKey);
+    } else {
+      cachePartitionRepository.release(cacheManager, getName(), partition, scopedKey);
+    }
+    return valueWrapper;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T get(Object key, Class<T> type) {
+    ValueWrapper valueWrapper = get(key);
+    Object value = valueWrapper != null ? valueWrapper.get() : null;
+    if (value != null && type != null && !type.isInstance(value)) {
+      throw new IllegalStateException(
+          "Cached value is not of required type [" + type.getName() + "]: " + value);
+    }
+    return (T) value;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T get(Object key, Callable<T> valueLoader) {
+    ValueWrapper valueWrapper = get(key);
+    if (valueWrapper != null) {
+      return (T) valueWrapper.get();
+    }
+    T value;
+    try {
+      value = valueLoader.call();
+    } catch (Exception e) {
+      throw new ValueRetrievalException(key, valueLoader, e);
+    }
+    put(key, value);
+    return value;
+  }
+
+  @Override
+  public void put(Object key, Object value) {
+    Object scopedKey = scope(key);
+    if (!admit(scopedKey, value)) {
+      evictScoped(scopedKey);
+      return;
+    }
+    delegate.put(scopedKey, value);
+  }
+
+  @Override
+  public ValueWrapper putIfAbsent(Object key, Object value) {
+    Object scopedKey = scope(key);
+    if (!admit(scopedKey, value)) {
+      return null;
+    }
+    return delegate.putIfAbsent(scopedKey, value);
+  }
+
+  @Override
+  public void evict(Object key) {
+    evictScoped(scope(key));
+  }
+
+  @Override
+  public boolean evictIfPresent(Object key) {
+    Object scopedKey = scope(key);
+    cachePartitionRepository.release(cacheManager, getName(), partition, scopedKey);
+    return delegate.evictIfPresent(scopedKey);
+  }
+
+  @Override
+  public void clear() {
+    cachePartitionRepository.releaseAll(cacheManager, getName());
+    delegate.clear();
+  }
+
+  @Override
+  public boolean invalidate() {
+    cachePartitionRepository.releaseAll(cacheManager, getName());
+    return delegate.invalidate();
+  }
+
+  private Object scope(final Object key) {
+    return PartitionScopedKey.scope(partition, key);
+  }
+
+  private void evictScoped(final Object scopedKey) {
+    cachePartitionRepository.release(cacheManager, getName(), partition, scopedKey);
+    delegate.evict(scopedKey);
+  }
+
+  private boolean admit(final Object scopedKey, final Object value) {
+    final long weight = cacheValueWeigher != null && value != null
+        ? cacheValueWeigher.weigh(scopedKey, value) : 0L;
+
+    final List<Object> evicted = cachePartitionRepository.admit(cacheManager, getName(), partition,
+        scopedKey, weight, cacheItemDefinition.getMaxEntriesPerPartition(),
+        cacheItemDefinition.getMaxWeightPerPartition());
+    if (evicted == null) {
+      return false;
+    }
+
+    evicted.forEach(delegate::evict);
+    return true;
+  }
+}
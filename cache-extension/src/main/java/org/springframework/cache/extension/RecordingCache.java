@@ -0,0 +1,148 @@
+package org.springframework.cache.extension;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import lombok.NonNull;
+import org.springframework.cache.Cache;
+
+/**
+ * Records JFR events for the operations of a cache resolved for one invocation, labelled with the
+ * bean name of the CacheManager serving the cache.
+ * A miss begins a {@link CacheLoadEvent} that is committed by the outermost
+ * {@link LoadRecordingCache} when the loaded value is put, so tiers refusing or skipping the put
+ * do not drop it. Synchronized lookups record the load around the value loader.
+ */
+class RecordingCache extends CacheDecorator {
+
+  private final CacheItemDefinition cacheItemDefinition;
+
+  private final String cacheManager;
+
+  private CacheLoadEvent loadEvent;
+
+  RecordingCache(@NonNull final Cache delegate,
+      @NonNull final CacheItemDefinition cacheItemDefinition, final String cacheManager) {
+    super(delegate);
+    this.cacheItemDefinition = cacheItemDefinition;
+    this.cacheManager = cacheManager;
+  }
+
+  @Override
+  public ValueWrapper get(Object key) {
+    CacheAccessEvent event = new CacheAccessEvent();
+    event.begin();
+    ValueWrapper valueWrapper = delegate.get(key);
+    event.end();
+
+    if (event.shouldCommit()) {
+      commit(event, "get", valueWrapper != null);
+    }
+
+    if (valueWrapper == null) {
+      loadEvent = new CacheLoadEvent();
+      loadEvent.begin();
+    }
+    return valueWrapper;
+  }
+
+  @Override
+  public <T> T get(Object key, Callable<T> valueLoader) {
+    boolean[] loaded = new boolean[1];
+
+    CacheAccessEvent event = new CacheAccessEvent();
+    event.begin();
+    T value = delegate.get(key, () -> {
+      loaded[0] = true;
+      CacheLoadEvent syncLoadEvent = new CacheLoadEvent();
+      syncLoadEvent.begin();
+      try {
+        return valueLoader.call();
+      } finally {
+        commitLoadEvent(syncLoadEvent);
+      }
+    });
+    event.end();
+
+    if (event.shouldCommit()) {
+      commit(event, "get", !loaded[0]);
+    }
+    return value;
+  }
+
+  @Override
+  public void put(Object key, Object value) {
+    CacheAccessEvent event = new CacheAccessEvent();
+    event.begin();
+    delegate.put(key, value);
+    event.end();
+
+    if (event.shouldCommit()) {
+      commit(event, "put", false);
+    }
+  }
+
+  @Override
+  public ValueWrapper putIfAbsent(Object key, Object value) {
+    CacheAccessEvent event = new CacheAccessEvent();
+    event.begin();
+    ValueWrapper valueWrapper = delegate.putIfAbsent(key, value);
+    event.end();
+
+    if (event.shouldCommit()) {
+      commit(event, "putIfAbsent", valueWrapper != null);
+    }
+    return valueWrapper;
+  }
+
+  @Override
+  public void evict(Object key) {
+    CacheAccessEvent event = new CacheAccessEvent();
+    event.begin();
+    delegate.evict(key);
+    event.end();
+
+    if (event.shouldCommit()) {
+      commit(event, "evict", false);
+    }
+  }
+
+  private void commit(final CacheAccessEvent event, final String operation, final boolean hit) {
+    event.type = cacheItemDefinition.getType();
+    event.method = cacheItemDefinition.getMethod();
+    event.cacheManager = cacheManager;
+    event.cacheName = getName();
+    event.operation = operation;
+    event.hit = hit;
+    event.commit();
+  }
+
+  /**
+   * Commits the load events begun by misses of a resolved cache, a RecordingCache or a
+   * ShardedCache of RecordingCaches.
+   */
+  static void commitLoadEvents(final Cache cache) {
+    if (cache instanceof RecordingCache) {
+      RecordingCache recordingCache = (RecordingCache) cache;
+      CacheLoadEvent event = recordingCache.loadEvent;
+      if (event != null) {
+        recordingCache.loadEvent = null;
+        recordingCache.commitLoadEvent(event);
+      }
+    } else if (cache instanceof ShardedCache) {
+      ((Map<?, ?>) cache.getNativeCache()).values()
+          .forEach(shard -> commitLoadEvents((Cache) shard));
+    }
+  }
+
+  private void commitLoadEvent(final CacheLoadEvent event) {
+    event.end();
+
+    if (event.shouldCommit()) {
+      event.type = cacheItemDefinition.getType();
+      event.method = cacheItemDefinition.getMethod();
+      event.cacheManager = cacheManager;
+      event.cacheName = getName();
+      event.commit();
+    }
+  }
+}
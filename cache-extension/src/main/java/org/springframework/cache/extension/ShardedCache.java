@@ -0,0 +1,94 @@
+package org.springframework.cache.extension;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+
+/**
+ * Routes every key to one of the caches with the same name in several CacheManagers, using a
+ * consistent hash ring of CacheManager bean names.
+ */
+@RequiredArgsConstructor
+public class ShardedCache implements Cache {
+
+  @NonNull
+  private final String name;
+
+  @NonNull
+  private final ConsistentHashRing<String> ring;
+
+  /**
+   * Caches by CacheManager bean name.
+   */
+  @NonNull
+  private final Map<String, Cache> caches;
+
+  public Cache route(final Object key) {
+    final Cache cache = caches.get(ring.route(key));
+    if (cache == null) {
+      throw new IllegalStateException("No cache " + name + " found for key " + key);
+    }
+    return cache;
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public Object getNativeCache() {
+    return caches;
+  }
+
+  @Override
+  public ValueWrapper get(Object key) {
+    return route(key).get(key);
+  }
+
+  @Override
+  public <T> T get(Object key, Class<T> type) {
+    return route(key).get(key, type);
+  }
+
+  @Override
+  public <T> T get(Object key, Callable<T> valueLoader) {
+    return route(key).get(key, valueLoader);
+  }
+
+  @Override
+  public void put(Object key, Object value) {
+    route(key).put(key, value);
+  }
+
+  @Override
+  public ValueWrapper putIfAbsent(Object key, Object value) {
+    return route(key).putIfAbsent(key, value);
+  }
+
+  @Override
+  public void evict(Object key) {
+    route(key).evict(key);
+  }
+
+  @Override
+  public boolean evictIfPresent(Object key) {
+    return route(key).evictIfPresent(key);
+  }
+
+  @Override
+  public void clear() {
+    caches.values().forEach(Cache::clear);
+  }
+
+  @Override
+  public boolean invalidate() {
+    boolean invalidated = false;
+    for (Cache cache : caches.values()) {
+      invalidated |= cache.invalidate();
+    }
+    return invalidated;
+  }
+}
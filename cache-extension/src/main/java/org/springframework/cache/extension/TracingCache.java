@@ -0,0 +1,96 @@
+package org.springframework.cache.extension;
+
+import java.util.concurrent.Callable;
+import lombok.NonNull;
+import org.springframework.cache.Cache;
+
+/**
+ * Records sampled lookups in the CacheAccessTraceRecorder, hits and misses when the cache is
+ * looked up. The value loaded after a miss is recorded as a load, with the time elapsed since the
+ * miss, when it is put.
+ * It wraps every tier that may refuse or skip a put, so the trace holds every shared cache lookup.
+ * Keys of a partitioned cache are hashed scoped to their partition, like the entries it stores.
+ */
+class TracingCache extends CacheDecorator {
+
+  private final CacheItemDefinition cacheItemDefinition;
+
+  private final CacheAccessTraceRecorder cacheAccessTraceRecorder;
+
+  /**
+   * Partition of the delegate cache, null if it is not partitioned.
+   */
+  private final Object partition;
+
+  private long missKeyHash;
+
+  private long missNanos;
+
+  TracingCache(@NonNull final Cache delegate, @NonNull final CacheItemDefinition cacheItemDefinition,
+      @NonNull final CacheAccessTraceRecorder cacheAccessTraceRecorder, final Object partition) {
+    super(delegate);
+    this.cacheItemDefinition = cacheItemDefinition;
+    this.cacheAccessTraceRecorder = cacheAccessTraceRecorder;
+    this.partition = partition;
+  }
+
+  @Override
+  public ValueWrapper get(Object key) {
+    ValueWrapper valueWrapper = delegate.get(key);
+
+    long keyHash = hash(key);
+    if (CacheAccessTraceRecorder.isSampled(keyHash, cacheItemDefinition.getTraceSampleRate())) {
+      cacheAccessTraceRecorder.recordAccess(cacheItemDefinition, keyHash, valueWrapper != null);
+      if (valueWrapper == null) {
+        missKeyHash = keyHash;
+        missNanos = System.nanoTime();
+      }
+    }
+    return valueWrapper;
+  }
+
+  @Override
+  public <T> T get(Object key, Callable<T> valueLoader) {
+    long keyHash = hash(key);
+    if (!CacheAccessTraceRecorder.isSampled(keyHash, cacheItemDefinition.getTraceSampleRate())) {
+      return delegate.get(key, valueLoader);
+    }
+
+    boolean[] loaded = new boolean[1];
+    T value = delegate.get(key, () -> {
+      loaded[0] = true;
+      long startNanos = System.nanoTime();
+      T loadedValue = valueLoader.call();
+      cacheAccessTraceRecorder.recordLoad(
+          cacheItemDefinition, keyHash, (System.nanoTime() - startNanos) / 1000);
+      return loadedValue;
+    });
+    cacheAccessTraceRecorder.recordAccess(cacheItemDefinition, keyHash, !loaded[0]);
+    return value;
+  }
+
+  @Override
+  public void put(Object key, Object value) {
+    recordLoad();
+    delegate.put(key, value);
+  }
+
+  @Override
+  public ValueWrapper putIfAbsent(Object key, Object value) {
+    recordLoad();
+    return delegate.putIfAbsent(key, value);
+  }
+
+  private void recordLoad() {
+    if (missNanos != 0) {
+      long loadMicros = (System.nanoTime() - missNanos) / 1000;
+      missNanos = 0;
+      cacheAccessTraceRecorder.recordLoad(cacheItemDefinition, missKeyHash, loadMicros);
+    }
+  }
+
+  private long hash(final Object key) {
+    return ConsistentHashRing.hash(
+        String.valueOf(partition != null ? PartitionScopedKey.scope(partition, key) : key));
+  }
+}
@@ -0,0 +1,18 @@
+package org.springframework.cache.extension;
+
+/**
+ * De-duplication modes of cached values, only suitable for immutable values.
+ */
+public enum ValueDeduplication {
+
+  /**
+   * Equal values share a single canonical instance, for caches storing values by reference on the heap.
+   */
+  HEAP,
+
+  /**
+   * Keys reference values stored once under a key derived from the value content digest, for remote
+   * caches storing serialized values.
+   */
+  CONTENT_ADDRESSED
+}
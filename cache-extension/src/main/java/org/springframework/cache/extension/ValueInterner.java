@@ -0,0 +1,61 @@
+package org.springframework.cache.extension;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Returns a canonical instance for equal values of the same class. Canonical instances are weakly
+ * referenced, so a value is released once no cache entry references it anymore.
+ * Values of different classes are never substituted, even when equal, so callers always get the
+ * class they cached (a List.of value is never returned for an ArrayList).
+ * Values are spread over striped maps, so concurrent puts of different values rarely contend.
+ */
+public class ValueInterner {
+
+  private static final int STRIPES = 16;
+
+  private final Map<Object, WeakReference<Object>>[] stripes;
+
+  @SuppressWarnings("unchecked")
+  public ValueInterner() {
+    stripes = new Map[STRIPES];
+    for (int i = 0; i < STRIPES; i++) {
+      stripes[i] = new WeakHashMap<>();
+    }
+  }
+
+  public Object intern(final Object value) {
+    if (value == null) {
+      return null;
+    }
+    final Map<Object, WeakReference<Object>> values = stripe(value);
+    synchronized (values) {
+      final WeakReference<Object> reference = values.get(value);
+      final Object canonical = reference != null ? reference.get() : null;
+      if (canonical != null) {
+        return canonical.getClass() == value.getClass() ? canonical : value;
+      }
+      values.put(value, new WeakReference<>(value));
+      return value;
+    }
+  }
+
+  /**
+   * @return the number of distinct values currently referenced.
+   */
+  public int size() {
+    int size = 0;
+    for (Map<Object, WeakReference<Object>> values : stripes) {
+      synchronized (values) {
+        size += values.size();
+      }
+    }
+    return size;
+  }
+
+  private Map<Object, WeakReference<Object>> stripe(final Object value) {
+    final int hash = value.hashCode();
+    return stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+  }
+}
@@ -0,0 +1,118 @@
+package org.springframework.cache.extension;
+
+import java.util.concurrent.Callable;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+
+/**
+ * Weighs values before caching them. Values heavier than the definition max entry weight, or
+ * that do not fit into the cache or definition budgets, are refused instead of evicting the
+ * working set.
+ * Only caches notifying their removals to the CacheWeightRepository are weighed, see
+ * {@link EntryRemovalEventListener}, entries they evict or expire are released then.
+ * Values loaded through {@link #get(Object, Callable)} go through the same admission, the load is
+ * not synchronized then, and concurrent callers missing the same key may each load it.
+ */
+@Slf4j
+public class WeighedCache extends CacheDecorator {
+
+  private final String cacheManager;
+
+  private final CacheItemDefinition cacheItemDefinition;
+
+  private final CacheValueWeigher cacheValueWeigher;
+
+  private final CacheWeightRepository cacheWeightRepository;
+
+  public WeighedCache(@NonNull final Cache delegate, @NonNull final String cacheManager,
+      @NonNull final CacheItemDefinition cacheItemDefinition,
+      @NonNull final CacheValueWeigher cacheValueWeigher,
+      @NonNull final CacheWeightRepository cacheWeightRepository) {
+    super(delegate);
+    this.cacheManager = cacheManager;
+    this.cacheItemDefinition = cacheItemDefinition;
+    this.cacheValueWeigher = cacheValueWeigher;
+    this.cacheWeightRepository = cacheWeightRepository;
+  }
+
+  @Override
+  public ValueWrapper get(Object key) {
+    ValueWrapper valueWrapper = delegate.get(key);
+    if (valueWrapper == null) {
+      cacheWeightRepository.release(cacheManager, getName(), key);
+    }
+    return valueWrapper;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T get(Object key, Callable<T> valueLoader) {
+    ValueWrapper valueWrapper = get(key);
+    if (valueWrapper != null) {
+      return (T) valueWrapper.get();
+    }
+    T value;
+    try {
+      value = valueLoader.call();
+    } catch (Exception e) {
+      throw new ValueRetrievalException(key, valueLoader, e);
+    }
+    put(key, value);
+    return value;
+  }
+
+  @Override
+  public void put(Object key, Object value) {
+    if (!admit(key, value)) {
+      // Never leave a stale value behind a refused one.
+      evict(key);
+      return;
+    }
+    delegate.put(key, value);
+  }
+
+  @Override
+  public ValueWrapper putIfAbsent(Object key, Object value) {
+    if (!admit(key, value)) {
+      return null;
+    }
+    return delegate.putIfAbsent(key, value);
+  }
+
+  @Override
+  public void evict(Object key) {
+    cacheWeightRepository.release(cacheManager, getName(), key);
+    delegate.evict(key);
+  }
+
+  @Override
+  public boolean evictIfPresent(Object key) {
+    cacheWeightRepository.release(cacheManager, getName(), key);
+    return delegate.evictIfPresent(key);
+  }
+
+  @Override
+  public void clear() {
+    cacheWeightRepository.releaseAll(cacheManager, getName());
+    delegate.clear();
+  }
+
+  @Override
+  public boolean invalidate() {
+    cacheWeightRepository.releaseAll(cacheManager, getName());
+    return delegate.invalidate();
+  }
+
+  private boolean admit(final Object key, final Object value) {
+    final long weight = value != null ? cacheValueWeigher.weigh(key, value) : 0L;
+
+    final Long maxEntryWeight = cacheItemDefinition.getMaxEntryWeight();
+    if (maxEntryWeight != null && weight > maxEntryWeight) {
+      log.debug("Refused oversized value, cache: {}, weight: {}", getName(), weight);
+      return false;
+    }
+
+    return cacheWeightRepository.acquire(cacheManager, getName(), key, cacheItemDefinition, weight);
+  }
+}
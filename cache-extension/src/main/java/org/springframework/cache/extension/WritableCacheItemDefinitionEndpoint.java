@@ -0,0 +1,127 @@
+package org.springframework.cache.extension;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.beans.BeansException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Actuator endpoint to list, add, change, disable and remove cache item definitions at runtime.
+ * It is only registered when cache.extension-endpoint-writes-enabled is true, and must be secured:
+ * it can disable caching, route definitions to other cache managers and load classes by name.
+ * Class and argument type names are fully qualified, lists are comma separated.
+ */
+@Endpoint(id = "cacheitems")
+public class WritableCacheItemDefinitionEndpoint extends CacheItemDefinitionEndpoint {
+
+  public WritableCacheItemDefinitionEndpoint(final CacheItemRepository cacheItemRepository,
+      final CacheWeightRepository cacheWeightRepository,
+      final CachePartitionRepository cachePartitionRepository) {
+    super(cacheItemRepository, cacheWeightRepository, cachePartitionRepository);
+  }
+
+  /**
+   * Adds a definition, or changes the given attributes of the definition with the same signature.
+   * @throws IllegalArgumentException if the request does not describe a valid definition.
+   */
+  @WriteOperation
+  public Map<String, Object> update(String type, String method,
+      @Nullable String argumentTypes, @Nullable String cacheNames, @Nullable String cacheManager,
+      @Nullable String cacheManagers, @Nullable String keyGenerator, @Nullable String cacheableConditionEvaluator,
+      @Nullable Boolean disabled) {
+    requireText(method, "method");
+    Class<?> typeClass = resolveClass(type);
+    Class<?>[] argumentTypeClasses = resolveClasses(argumentTypes);
+
+    CacheItemDefinition existing = cacheItemRepository.find(typeClass, method, argumentTypeClasses);
+    CacheItemDefinition.CacheItemDefinitionBuilder builder = existing != null
+        ? existing.toBuilder()
+        : CacheItemDefinition.builder().type(typeClass).method(method).argumentTypes(argumentTypeClasses);
+
+    if (cacheNames != null) {
+      Set<String> names = toSet(cacheNames);
+      if (names.isEmpty()) {
+        throw new IllegalArgumentException("At least one cache name is required");
+      }
+      builder.cacheNames(names);
+    } else if (existing == null) {
+      throw new IllegalArgumentException("New definitions require cacheNames: " + type + "." + method);
+    }
+    if (cacheManager != null) {
+      builder.cacheManager(emptyToNull(cacheManager));
+    }
+    if (cacheManagers != null) {
+      builder.cacheManagers(StringUtils.hasText(cacheManagers) ? Arrays.asList(split(cacheManagers)) : null);
+    }
+    if (keyGenerator != null) {
+      builder.keyGenerator(emptyToNull(keyGenerator));
+    }
+    if (cacheableConditionEvaluator != null) {
+      builder.cacheableConditionEvaluator(emptyToNull(cacheableConditionEvaluator));
+    }
+    if (disabled != null) {
+      builder.disabled(disabled);
+    }
+
+    CacheItemDefinition cacheItemDefinition = builder.build();
+    try {
+      cacheItemRepository.update(cacheItemDefinition);
+    } catch (IllegalStateException | BeansException e) {
+      throw new IllegalArgumentException("Invalid cache item definition: " + e.getMessage(), e);
+    }
+    return describe(cacheItemDefinition);
+  }
+
+  @DeleteOperation
+  public Map<String, Object> unregister(String type, String method, @Nullable String argumentTypes) {
+    requireText(method, "method");
+    CacheItemDefinition removed = cacheItemRepository.unregister(
+        resolveClass(type), method, resolveClasses(argumentTypes));
+    return removed != null ? describe(removed) : null;
+  }
+
+  private Class<?> resolveClass(final String name) {
+    requireText(name, "type");
+    try {
+      return ClassUtils.forName(name.trim(), ClassUtils.getDefaultClassLoader());
+    } catch (ClassNotFoundException | LinkageError e) {
+      throw new IllegalArgumentException("Unknown class: " + name, e);
+    }
+  }
+
+  private Class<?>[] resolveClasses(final String names) {
+    if (names == null) {
+      return null;
+    }
+    return Arrays.stream(split(names))
+        .map(this::resolveClass)
+        .toArray(Class[]::new);
+  }
+
+  private static Set<String> toSet(final String names) {
+    Set<String> result = new LinkedHashSet<>(Arrays.asList(split(names)));
+    result.remove("");
+    return result;
+  }
+
+  private static String[] split(final String names) {
+    return StringUtils.commaDelimitedListToStringArray(StringUtils.trimAllWhitespace(names));
+  }
+
+  private static void requireText(final String value, final String attribute) {
+    if (!StringUtils.hasText(value)) {
+      throw new IllegalArgumentException("Missing " + attribute);
+    }
+  }
+
+  private static String emptyToNull(final String value) {
+    return StringUtils.hasText(value) ? value : null;
+  }
+}
@@ -0,0 +1,109 @@
+package org.springframework.cache.extension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CacheAccessTraceTest {
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void readsTheRecordsWritten() throws IOException {
+    Path trace = directory.resolve("MathService.sum.trace");
+    try (CacheAccessTrace.Writer writer = new CacheAccessTrace.Writer(trace, 0.25)) {
+      writer.writeAccess(42L, 1000L, false);
+      writer.writeLoad(42L, 1003L, 1500L);
+      writer.flush();
+      writer.writeAccess(-7L, 1003L, true);
+      writer.writeAccess(42L, 2000L, true);
+    }
+
+    try (CacheAccessTrace.Reader reader = new CacheAccessTrace.Reader(trace)) {
+      assertEquals(0.25, reader.getSampleRate());
+
+      CacheAccessTrace.Record record = new CacheAccessTrace.Record();
+      assertTrue(reader.next(record));
+      assertRecord(record, 42L, 1000L, false, false, 0L);
+      assertTrue(reader.next(record));
+      assertRecord(record, 42L, 1003L, true, false, 1500L);
+      assertTrue(reader.next(record));
+      assertRecord(record, -7L, 1003L, false, true, 0L);
+      assertTrue(reader.next(record));
+      assertRecord(record, 42L, 2000L, false, true, 0L);
+      assertFalse(reader.next(record));
+    }
+  }
+
+  @Test
+  void keepsTimestampsInOrder() throws IOException {
+    Path trace = directory.resolve("clock.trace");
+    try (CacheAccessTrace.Writer writer = new CacheAccessTrace.Writer(trace, 1)) {
+      writer.writeAccess(1L, 5000L, false);
+      // A record of a thread that read the clock earlier.
+      writer.writeAccess(2L, 4000L, false);
+      writer.writeAccess(3L, 6000L, false);
+    }
+
+    try (CacheAccessTrace.Reader reader = new CacheAccessTrace.Reader(trace)) {
+      CacheAccessTrace.Record record = new CacheAccessTrace.Record();
+      long[] timestamps = new long[3];
+      for (int i = 0; i < timestamps.length; i++) {
+        assertTrue(reader.next(record));
+        timestamps[i] = record.getTimestamp();
+      }
+      assertEquals(5000L, timestamps[0]);
+      assertEquals(5000L, timestamps[1]);
+      assertEquals(6000L, timestamps[2]);
+    }
+  }
+
+  @Test
+  void neverOverwritesATrace() throws IOException {
+    Path trace = directory.resolve("existing.trace");
+    new CacheAccessTrace.Writer(trace, 1).close();
+
+    assertThrows(FileAlreadyExistsException.class, () -> new CacheAccessTrace.Writer(trace, 1));
+  }
+
+  @Test
+  void ignoresRecordsWrittenAfterClose() throws IOException {
+    Path trace = directory.resolve("closed.trace");
+    CacheAccessTrace.Writer writer = new CacheAccessTrace.Writer(trace, 1);
+    writer.writeAccess(1L, 1000L, false);
+    writer.close();
+    writer.writeAccess(2L, 2000L, false);
+
+    try (CacheAccessTrace.Reader reader = new CacheAccessTrace.Reader(trace)) {
+      CacheAccessTrace.Record record = new CacheAccessTrace.Record();
+      assertTrue(reader.next(record));
+      assertEquals(1L, record.getKeyHash());
+      assertFalse(reader.next(record));
+    }
+  }
+
+  @Test
+  void rejectsFilesThatAreNotTraces() throws IOException {
+    Path file = Files.write(directory.resolve("other.trace"), new byte[16]);
+
+    assertThrows(IOException.class, () -> new CacheAccessTrace.Reader(file));
+  }
+
+  private static void assertRecord(final CacheAccessTrace.Record record, final long keyHash,
+      final long timestamp, final boolean load, final boolean hit, final long loadMicros) {
+    assertEquals(keyHash, record.getKeyHash());
+    assertEquals(timestamp, record.getTimestamp());
+    assertEquals(load, record.isLoad());
+    assertEquals(hit, record.isHit());
+    assertEquals(loadMicros, record.getLoadMicros());
+  }
+}
@@ -0,0 +1,101 @@
+package org.springframework.cache.extension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class CachePartitionRepositoryImplTest {
+
+  private final CachePartitionRepository repository = new CachePartitionRepositoryImpl();
+
+  @Test
+  void evictsTheLeastRecentlyUsedEntriesOfThePartition() {
+    for (int i = 0; i < 3; i++) {
+      assertEquals(Collections.emptyList(),
+          repository.admit("memory", "mathCache", "a", "a::k" + i, 0, 3, null));
+    }
+    repository.admit("memory", "mathCache", "b", "b::k0", 0, 3, null);
+
+    assertEquals(Collections.singletonList("a::k0"),
+        repository.admit("memory", "mathCache", "a", "a::k3", 0, 3, null));
+    assertEquals(3, usage("a").getEntries());
+    assertEquals(1, usage("b").getEntries());
+  }
+
+  @Test
+  void evictsByWeight() {
+    repository.admit("memory", "mathCache", "a", "a::k0", 40, null, 100L);
+    repository.admit("memory", "mathCache", "a", "a::k1", 40, null, 100L);
+
+    assertEquals(Arrays.asList("a::k0", "a::k1"),
+        repository.admit("memory", "mathCache", "a", "a::k2", 90, null, 100L));
+    assertNull(repository.admit("memory", "mathCache", "a", "a::k3", 101, null, 100L));
+    assertEquals(90, usage("a").getWeight());
+  }
+
+  @Test
+  void touchedEntriesAreEvictedLast() {
+    repository.admit("memory", "mathCache", "a", "a::k0", 0, 2, null);
+    repository.admit("memory", "mathCache", "a", "a::k1", 0, 2, null);
+    repository.touch("memory", "mathCache", "a", "a::k0");
+
+    assertEquals(Collections.singletonList("a::k1"),
+        repository.admit("memory", "mathCache", "a", "a::k2", 0, 2, null));
+  }
+
+  @Test
+  void releasesEntriesAndRemovesEmptyPartitions() {
+    repository.admit("memory", "mathCache", "a", "a::k0", 10, 5, null);
+    repository.admit("memory", "mathCache", "a", "a::k1", 20, 5, null);
+    repository.admit("memory", "mathCache", "b", "b::k0", 30, 5, null);
+
+    repository.release("memory", "mathCache", "a", "a::k0");
+    assertEquals(1, usage("a").getEntries());
+    assertEquals(20, usage("a").getWeight());
+
+    repository.release("memory", "mathCache", "a", "a::k1");
+    assertFalse(repository.getUsage().get("memory/mathCache").containsKey("a"));
+
+    repository.releaseAll("memory", "mathCache");
+    assertTrue(repository.getUsage().isEmpty());
+  }
+
+  @Test
+  void tracksCachesPerCacheManager() {
+    repository.admit("memory", "mathCache", "a", "a::k0", 0, 1, null);
+
+    assertEquals(Collections.emptyList(),
+        repository.admit("other", "mathCache", "a", "a::k1", 0, 1, null));
+    repository.releaseAll("other", "mathCache");
+
+    assertEquals(Collections.singleton("memory/mathCache"), repository.getUsage().keySet());
+  }
+
+  @Test
+  void releasesEntriesRemovedByTheCache() {
+    assertFalse(repository.isTracked("memory", "mathCache"));
+
+    repository.onRegistration("memory", "mathCache");
+    assertTrue(repository.isTracked("memory", "mathCache"));
+    assertFalse(repository.isTracked("other", "mathCache"));
+
+    repository.admit("memory", "mathCache", "a", "a::k0", 0, 5, null);
+    repository.admit("memory", "mathCache", "b", "b::k0", 0, 5, null);
+    repository.onRemoval("memory", "mathCache", "b::k0");
+    repository.onRemoval("memory", "mathCache", "unknown");
+
+    Map<String, CachePartitionRepository.PartitionUsage> usage =
+        repository.getUsage().get("memory/mathCache");
+    assertEquals(Collections.singleton("a"), usage.keySet());
+  }
+
+  private CachePartitionRepository.PartitionUsage usage(final String partition) {
+    return repository.getUsage().get("memory/mathCache").get(partition);
+  }
+}
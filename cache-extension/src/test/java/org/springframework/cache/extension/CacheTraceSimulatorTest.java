@@ -0,0 +1,141 @@
+package org.springframework.cache.extension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CacheTraceSimulatorTest {
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void lruEvictsTheLeastRecentlyUsedKey() {
+    CacheTraceSimulator.Policy lru = new CacheTraceSimulator.LruPolicy(2, 0L);
+
+    assertFalse(lru.access(1L, 0L));
+    assertFalse(lru.access(2L, 0L));
+    assertTrue(lru.access(1L, 0L));
+    assertFalse(lru.access(3L, 0L));
+
+    assertTrue(lru.access(1L, 0L));
+    assertFalse(lru.access(2L, 0L));
+  }
+
+  @Test
+  void lfuEvictsTheLeastFrequentlyUsedKey() {
+    CacheTraceSimulator.Policy lfu = new CacheTraceSimulator.LfuPolicy(2, 0L);
+
+    assertFalse(lfu.access(1L, 0L));
+    assertTrue(lfu.access(1L, 0L));
+    assertFalse(lfu.access(2L, 0L));
+    assertFalse(lfu.access(3L, 0L));
+
+    assertTrue(lfu.access(1L, 0L));
+    assertTrue(lfu.access(3L, 0L));
+    assertFalse(lfu.access(2L, 0L));
+  }
+
+  @Test
+  void policiesExpireEntriesAfterTheirTimeToLive() {
+    for (String name : CacheTraceSimulator.POLICIES.keySet()) {
+      CacheTraceSimulator.Policy policy = CacheTraceSimulator.POLICIES.get(name).apply(100, 10L);
+
+      assertFalse(policy.access(1L, 0L), name);
+      assertTrue(policy.access(1L, 9L), name);
+      assertFalse(policy.access(1L, 10L), name);
+      assertTrue(policy.access(1L, 11L), name);
+    }
+  }
+
+  @Test
+  void windowTinyLfuKeepsFrequentKeysThroughAScan() {
+    CacheTraceSimulator.Policy lru = new CacheTraceSimulator.LruPolicy(100, 0L);
+    CacheTraceSimulator.Policy tinyLfu = new CacheTraceSimulator.WindowTinyLfuPolicy(100, 0L);
+
+    for (int round = 0; round < 10; round++) {
+      for (long key = 0; key < 50; key++) {
+        lru.access(key, 0L);
+        tinyLfu.access(key, 0L);
+      }
+    }
+    for (long key = 1000; key < 2000; key++) {
+      lru.access(key, 0L);
+      tinyLfu.access(key, 0L);
+    }
+
+    int lruHits = 0;
+    int tinyLfuHits = 0;
+    for (long key = 0; key < 50; key++) {
+      lruHits += lru.access(key, 0L) ? 1 : 0;
+      tinyLfuHits += tinyLfu.access(key, 0L) ? 1 : 0;
+    }
+
+    assertEquals(0, lruHits);
+    assertTrue(tinyLfuHits >= 45, tinyLfuHits + " frequent keys kept");
+  }
+
+  @Test
+  void sketchCountsSaturatesAndAges() {
+    CacheTraceSimulator.FrequencySketch sketch = new CacheTraceSimulator.FrequencySketch(16);
+
+    for (int i = 0; i < 5; i++) {
+      sketch.increment(7L);
+    }
+    assertEquals(5, sketch.frequency(7L));
+    assertEquals(0, sketch.frequency(8L));
+
+    for (int i = 5; i < 20; i++) {
+      sketch.increment(7L);
+    }
+    assertEquals(15, sketch.frequency(7L));
+
+    // Counters are halved every 10 * capacity increments.
+    for (int i = 20; i < 160; i++) {
+      sketch.increment(7L);
+    }
+    assertEquals(7, sketch.frequency(7L));
+  }
+
+  @Test
+  void simulatesATrace() throws IOException {
+    Path trace = directory.resolve("MathService.sum.trace");
+    try (CacheAccessTrace.Writer writer = new CacheAccessTrace.Writer(trace, 1)) {
+      writer.writeAccess(1L, 1000L, false);
+      writer.writeLoad(1L, 1001L, 2000L);
+      writer.writeAccess(2L, 1002L, false);
+      writer.writeLoad(2L, 1003L, 4000L);
+      writer.writeAccess(1L, 1004L, true);
+      writer.writeAccess(1L, 1005L, true);
+      writer.writeAccess(2L, 1006L, true);
+    }
+
+    CacheTraceSimulator.Result result =
+        CacheTraceSimulator.simulate(trace, "LRU", 10, Duration.ZERO);
+
+    assertEquals("MathService.sum.trace", result.getTrace());
+    assertEquals(5, result.getRequests());
+    assertEquals(3, result.getHits());
+    assertEquals(0.6, result.getHitRatio(), 1e-9);
+    assertEquals(Duration.ofMillis(8), result.getSavedLoadTime());
+
+    CacheTraceSimulator.Result small =
+        CacheTraceSimulator.simulate(trace, "LRU", 1, Duration.ZERO);
+    assertEquals(1, small.getHits());
+  }
+
+  @Test
+  void rejectsUnknownPolicies() {
+    assertThrows(IllegalArgumentException.class, () -> CacheTraceSimulator.simulate(
+        directory.resolve("missing.trace"), Collections.singletonList("FIFO"),
+        Collections.singletonList(10), Collections.singletonList(Duration.ZERO)));
+  }
+}
@@ -0,0 +1,117 @@
+package org.springframework.cache.extension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class CacheWeightRepositoryImplTest {
+
+  private final CacheWeightRepository repository = new CacheWeightRepositoryImpl();
+
+  private final CacheItemDefinition definition = CacheItemDefinition.builder()
+      .type(ListService.class)
+      .method("list")
+      .argumentTypes(new Class[]{Integer.class})
+      .cacheNames(Collections.singleton("listCache"))
+      .build();
+
+  @Test
+  void replacesTheWeightOfAnEntry() {
+    assertTrue(repository.acquire("memory", "listCache", "k1", definition, 10));
+    assertTrue(repository.acquire("memory", "listCache", "k1", definition, 4));
+
+    assertEquals(4, repository.getCacheWeight("memory", "listCache"));
+    assertEquals(4, repository.getDefinitionWeight(definition));
+  }
+
+  @Test
+  void releasesEntries() {
+    repository.acquire("memory", "listCache", "k1", definition, 10);
+    repository.acquire("memory", "listCache", "k2", definition, 20);
+    repository.acquire("memory", "listCache", "k3", definition, 30);
+
+    repository.release("memory", "listCache", "k1");
+    repository.release("memory", "listCache", "unknown");
+    assertEquals(50, repository.getCacheWeight("memory", "listCache"));
+
+    repository.releaseAll("memory", "listCache");
+    assertEquals(0, repository.getCacheWeight("memory", "listCache"));
+    assertEquals(0, repository.getDefinitionWeight(definition));
+  }
+
+  @Test
+  void tracksCachesPerCacheManager() {
+    repository.acquire("memory", "listCache", "k1", definition, 10);
+    repository.acquire("other", "listCache", "k1", definition, 20);
+
+    repository.release("other", "listCache", "k1");
+
+    assertEquals(10, repository.getCacheWeight("memory", "listCache"));
+    assertEquals(0, repository.getCacheWeight("other", "listCache"));
+    assertEquals(10, repository.getDefinitionWeight(definition));
+  }
+
+  @Test
+  void refusesEntriesOverTheCacheBudget() {
+    repository.setCacheBudget("listCache", 10);
+
+    assertTrue(repository.acquire("memory", "listCache", "k1", definition, 6));
+    assertFalse(repository.acquire("memory", "listCache", "k2", definition, 5));
+    // The replaced weight of the same key is not counted.
+    assertTrue(repository.acquire("memory", "listCache", "k1", definition, 9));
+    // Every cache manager has its own budget.
+    assertTrue(repository.acquire("other", "listCache", "k2", definition, 5));
+
+    assertEquals(9, repository.getCacheWeight("memory", "listCache"));
+  }
+
+  @Test
+  void refusesEntriesOverTheDefinitionBudget() {
+    CacheItemDefinition limited = definition.toBuilder().maxWeight(10L).build();
+
+    assertTrue(repository.acquire("memory", "listCache", "k1", limited, 6));
+    assertFalse(repository.acquire("other", "listCache", "k2", limited, 5));
+    assertTrue(repository.acquire("other", "listCache", "k2", limited, 4));
+
+    assertEquals(10, repository.getDefinitionWeight(limited));
+  }
+
+  @Test
+  void keepsTheWeightOfUpdatedDefinitions() {
+    repository.acquire("memory", "listCache", "k1", definition, 10);
+    CacheItemDefinition updated = definition.toBuilder().maxWeight(100L).build();
+    repository.acquire("memory", "listCache", "k2", updated, 20);
+
+    assertEquals(30, repository.getDefinitionWeight(definition));
+    Map<CacheItemDefinition, Long> weights = repository.getDefinitionWeights();
+    assertEquals(Collections.singletonMap(updated, 30L), weights);
+  }
+
+  @Test
+  void releasesEntriesRemovedByTheCache() {
+    assertFalse(repository.isTracked("memory", "listCache"));
+
+    repository.onRegistration("memory", "listCache");
+    assertTrue(repository.isTracked("memory", "listCache"));
+    assertFalse(repository.isTracked("other", "listCache"));
+
+    repository.acquire("memory", "listCache", "k1", definition, 10);
+    repository.acquire("memory", "listCache", "k2", definition, 20);
+    repository.onRemoval("memory", "listCache", "k1");
+
+    assertEquals(20, repository.getCacheWeight("memory", "listCache"));
+    assertEquals(20, repository.getDefinitionWeight(definition));
+  }
+
+  static class ListService {
+
+    public List<Integer> list(Integer size) {
+      return Collections.nCopies(size, 0);
+    }
+  }
+}
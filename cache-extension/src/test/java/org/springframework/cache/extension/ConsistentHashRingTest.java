@@ -0,0 +1,95 @@
+package org.springframework.cache.extension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class ConsistentHashRingTest {
+
+  private static final int KEYS = 30000;
+
+  private final ConsistentHashRing<String> ring =
+      new ConsistentHashRing<>(Arrays.asList("redis-a", "redis-b", "redis-c"));
+
+  @Test
+  void routesEveryKeyToTheSameNode() {
+    ConsistentHashRing<String> other =
+        new ConsistentHashRing<>(Arrays.asList("redis-a", "redis-b", "redis-c"));
+
+    for (int i = 0; i < KEYS; i++) {
+      String key = "MathCache::sum[" + i + "]";
+      assertEquals(ring.route(key), other.route(key));
+    }
+  }
+
+  @Test
+  void routesToNullWhenEmpty() {
+    assertNull(new ConsistentHashRing<String>(Collections.emptyList()).route("key"));
+  }
+
+  @Test
+  void spreadsKeysEvenly() {
+    Map<String, Integer> counts = new HashMap<>();
+    for (int i = 0; i < KEYS; i++) {
+      counts.merge(ring.route("MathCache::sum[" + i + "]"), 1, Integer::sum);
+    }
+
+    assertEquals(3, counts.size());
+    int mean = KEYS / 3;
+    counts.forEach((node, count) ->
+        assertTrue(Math.abs(count - mean) < mean / 5, node + " owns " + count + " keys"));
+  }
+
+  @Test
+  void addingANodeOnlyMovesKeysToIt() {
+    ConsistentHashRing<String> added = ring.add("redis-d");
+
+    int moved = 0;
+    for (int i = 0; i < KEYS; i++) {
+      String key = "MathCache::sum[" + i + "]";
+      String before = ring.route(key);
+      String after = added.route(key);
+      if (!before.equals(after)) {
+        assertEquals("redis-d", after);
+        moved++;
+      }
+    }
+
+    // A fourth node takes over a quarter of the keys.
+    assertTrue(moved > KEYS * 0.15 && moved < KEYS * 0.35, moved + " keys moved");
+  }
+
+  @Test
+  void removingANodeOnlyMovesItsKeys() {
+    ConsistentHashRing<String> removed = ring.remove("redis-b");
+
+    for (int i = 0; i < KEYS; i++) {
+      String key = "MathCache::sum[" + i + "]";
+      String before = ring.route(key);
+      String after = removed.route(key);
+      if (before.equals("redis-b")) {
+        assertNotEquals("redis-b", after);
+      } else {
+        assertEquals(before, after);
+      }
+    }
+  }
+
+  @Test
+  void keepsTheRingWhenNodesDoNotChange() {
+    assertSame(ring, ring.add("redis-a"));
+    assertSame(ring, ring.remove("redis-d"));
+
+    List<String> nodes = ring.add("redis-d").remove("redis-d").getNodes();
+    assertEquals(ring.getNodes(), nodes);
+  }
+}
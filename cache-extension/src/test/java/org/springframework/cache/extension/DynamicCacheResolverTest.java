@@ -0,0 +1,80 @@
+package org.springframework.cache.extension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.interceptor.CacheOperationInvocationContext;
+
+class DynamicCacheResolverTest {
+
+  private final CacheItemRepository cacheItemRepository = CacheItemRepository.getDefault();
+
+  private final CacheManagerRepository cacheManagerRepository = new CacheManagerRepositoryImpl();
+
+  private final ConcurrentMapCacheManager first = new ConcurrentMapCacheManager("shards");
+
+  private final ConcurrentMapCacheManager second = new ConcurrentMapCacheManager("shards");
+
+  private final DynamicCacheResolver resolver = new DynamicCacheResolver(
+      cacheItemRepository, cacheManagerRepository, CacheWeightRepository.getDefault(),
+      CachePartitionRepository.getDefault());
+
+  @Test
+  void routesShardedKeysOnlyToResolvedCacheManagers() throws Exception {
+    cacheItemRepository.register(CacheItemDefinition.builder()
+        .type(ShardedService.class)
+        .method("find")
+        .argumentTypes(new Class[]{Integer.class})
+        .cacheManagers(Arrays.asList("first", "missing", "second"))
+        .cacheNames(Collections.singleton("shards"))
+        .build());
+
+    cacheManagerRepository.register(first, "first");
+    cacheManagerRepository.register(second, "second");
+
+    List<Cache> caches = resolve(1);
+    assertEquals(1, caches.size());
+
+    Cache cache = caches.get(0);
+    for (int key = 0; key < 1000; key++) {
+      cache.put(key, key);
+    }
+
+    assertEquals(1000, size(first) + size(second));
+    for (int key = 0; key < 1000; key++) {
+      assertEquals(key, cache.get(key, Integer.class));
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<Cache> resolve(final Integer argument) throws NoSuchMethodException {
+    CacheOperationInvocationContext<?> context = mock(CacheOperationInvocationContext.class);
+    when(context.getTarget()).thenReturn(new ShardedService());
+    when(context.getMethod()).thenReturn(ShardedService.class.getMethod("find", Integer.class));
+    when(context.getArgs()).thenReturn(new Object[]{argument});
+
+    Collection<? extends Cache> caches = resolver.resolveCaches(context);
+    return new ArrayList<>(caches);
+  }
+
+  private static int size(final ConcurrentMapCacheManager cacheManager) {
+    return ((ConcurrentMap<?, ?>) cacheManager.getCache("shards").getNativeCache()).size();
+  }
+
+  static class ShardedService {
+
+    public Integer find(Integer value) {
+      return value;
+    }
+  }
+}
@@ -1,5 +1,6 @@
 package com.example.apiexample.cache;
 
+import com.example.apiexample.rest.TenantFilter;
 import com.example.apiexample.services.MathService;
 import java.time.Duration;
 import java.util.Collections;
@@ -9,15 +10,24 @@ import org.ehcache.config.CacheConfiguration;
 import org.ehcache.config.builders.CacheConfigurationBuilder;
 import org.ehcache.config.builders.CacheEventListenerConfigurationBuilder;
 import org.ehcache.config.builders.ConfigurationBuilder;
-import org.ehcache.config.builders.ExpiryPolicyBuilder;
 import org.ehcache.config.builders.ResourcePoolsBuilder;
 import org.ehcache.event.EventType;
 import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.cache.RedisCacheManagerBuilderCustomizer;
 import org.springframework.cache.CacheManager;
+import org.springframework.cache.extension.CacheEntryExpiry;
 import org.springframework.cache.extension.CacheItemDefinition;
 import org.springframework.cache.extension.CacheItemRepository;
+import org.springframework.cache.extension.CachePartitionExtractor;
+import org.springframework.cache.extension.CachePartitionRepository;
+import org.springframework.cache.extension.CacheValueWeigher;
+import org.springframework.cache.extension.CacheWeightRepository;
+import org.springframework.cache.extension.EntryRemovalEventListener;
+import org.springframework.cache.extension.EntryTtlExpiryPolicy;
+import org.springframework.cache.extension.EntryTtlRedisCacheWriter;
+import org.springframework.cache.extension.ValueDeduplication;
 import org.springframework.cache.interceptor.KeyGenerator;
 import org.springframework.cache.jcache.JCacheCacheManager;
 import org.springframework.cache.support.CompositeCacheManager;
@@ -26,6 +36,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
@@ -64,6 +75,37 @@ public class CacheConfig {
             + "[" + StringUtils.arrayToCommaDelimitedString(params) + "]";
   }
 
+  @Bean
+  public CachePartitionExtractor tenantPartitionExtractor() {
+    // The tenant is set by the TenantFilter from the X-Tenant-Id request header.
+    return (target, method, args) -> MDC.get(TenantFilter.TENANT);
+  }
+
+  @Bean
+  public CacheEntryExpiry loadCostEntryExpiry() {
+    // Results that took long to compute are kept longer.
+    return (args, value, loadTime) -> loadTime.compareTo(Duration.ofMillis(50)) > 0
+        ? Duration.ofMinutes(10) : Duration.ofSeconds(20);
+  }
+
+  @Bean
+  public CacheValueWeigher listValueWeigher() {
+    // Rough heap estimate: list header plus one boxed Integer and reference per element.
+    return (key, value) -> 16L + 20L * ((List<?>) value).size();
+  }
+
+  @Bean
+  public CacheWeightRepository cacheWeightRepository() {
+    CacheWeightRepository cacheWeightRepository = CacheWeightRepository.getDefault();
+    cacheWeightRepository.setCacheBudget(LIST_CACHE, 64 * 1024);
+    return cacheWeightRepository;
+  }
+
+  @Bean
+  public CachePartitionRepository cachePartitionRepository() {
+    return CachePartitionRepository.getDefault();
+  }
+
   @Bean
   public CacheItemRepository cacheItemRepository() {
     CacheItemRepository cacheItemRepository = CacheItemRepository.getDefault();
@@ -75,6 +117,10 @@ public class CacheConfig {
         .cacheManager("memoryCacheManager")
         .cacheNames(Collections.singleton(MATH_CACHE))
         .keyGenerator("mathCacheKeyGenerator")
+        .entryExpiry("loadCostEntryExpiry")
+        .traceSampleRate(0.1)
+        .partitionExtractor("tenantPartitionExtractor")
+        .maxEntriesPerPartition(5)
         .build();
 
     cacheItemRepository.register(cid);
@@ -86,6 +132,7 @@ public class CacheConfig {
         .cacheManager("redisCacheManager")
         .cacheNames(Collections.singleton(MATH_CACHE))
         .keyGenerator("mathCacheKeyGenerator")
+        .entryExpiry("loadCostEntryExpiry")
         .build();
 
     cacheItemRepository.register(cid2);
@@ -106,8 +153,13 @@ public class CacheConfig {
         .method("getList")
         .argumentTypes(new Class[]{Integer.class})
         .cacheManager("memoryCacheManager")
+        .requestScoped(true)
+        .valueDeduplication(ValueDeduplication.HEAP)
         .cacheNames(Collections.singleton(LIST_CACHE))
         .keyGenerator("listCacheKeyGenerator")
+        .valueWeigher("listValueWeigher")
+        .maxEntryWeight(1024L)
+        .maxWeight(16 * 1024L)
         .build();
 
     cacheItemRepository.register(cid4);
@@ -144,7 +196,8 @@ public class CacheConfig {
             RedisSerializer.json()));
 
     RedisCacheManager.RedisCacheManagerBuilder builder = RedisCacheManager.builder(
-            redisConnectionFactory())
+            new EntryTtlRedisCacheWriter(
+                RedisCacheWriter.nonLockingRedisCacheWriter(redisConnectionFactory())))
         .cacheDefaults(cacheConfiguration);
 
     return builder.build();
@@ -174,14 +227,18 @@ public class CacheConfig {
 
     CacheConfiguration<String, Integer> cacheConfig = CacheConfigurationBuilder
         .newCacheConfigurationBuilder(String.class, Integer.class, ResourcePoolsBuilder.heap(10))
-        .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(20)))
+        .withExpiry(new EntryTtlExpiryPolicy(Duration.ofSeconds(20)))
         .withService(eventListener)
+        .withService(EntryRemovalEventListener.newConfiguration("memoryCacheManager",
+            MATH_CACHE, cacheWeightRepository(), cachePartitionRepository()))
         .build();
 
     CacheConfiguration<String, List> listConfig = CacheConfigurationBuilder
         .newCacheConfigurationBuilder(String.class, List.class, ResourcePoolsBuilder.heap(10))
-        .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(20)))
+        .withExpiry(new EntryTtlExpiryPolicy(Duration.ofSeconds(20)))
         .withService(eventListener)
+        .withService(EntryRemovalEventListener.newConfiguration("memoryCacheManager",
+            LIST_CACHE, cacheWeightRepository()))
         .build();
 
     org.ehcache.config.Configuration configuration = ConfigurationBuilder.newConfigurationBuilder()
@@ -0,0 +1,40 @@
+package com.example.apiexample.rest;
+
+import java.io.IOException;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Puts the tenant of the X-Tenant-Id request header into the MDC, where the
+ * tenantPartitionExtractor finds it.
+ */
+@Component
+public class TenantFilter extends OncePerRequestFilter {
+
+  public static final String TENANT_HEADER = "X-Tenant-Id";
+
+  public static final String TENANT = "tenant";
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+      FilterChain filterChain) throws ServletException, IOException {
+    String tenant = request.getHeader(TENANT_HEADER);
+    if (!StringUtils.hasText(tenant)) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+
+    MDC.put(TENANT, tenant);
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      MDC.remove(TENANT);
+    }
+  }
+}
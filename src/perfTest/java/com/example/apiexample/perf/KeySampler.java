@@ -0,0 +1,35 @@
+package com.example.apiexample.perf;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Samples key ranks in [0, keys) following a Zipf distribution. A skew of 0 is uniform, values
+ * around 1 model the usual hot-key skew of production traffic.
+ */
+public class KeySampler {
+
+  private final double[] cumulativeProbabilities;
+
+  public KeySampler(int keys, double skew) {
+    if (keys <= 0) {
+      throw new IllegalArgumentException("keys must be positive: " + keys);
+    }
+    cumulativeProbabilities = new double[keys];
+    double total = 0;
+    for (int rank = 0; rank < keys; rank++) {
+      total += 1.0 / Math.pow(rank + 1, skew);
+      cumulativeProbabilities[rank] = total;
+    }
+    for (int rank = 0; rank < keys; rank++) {
+      cumulativeProbabilities[rank] /= total;
+    }
+  }
+
+  public int next() {
+    double p = ThreadLocalRandom.current().nextDouble();
+    int index = Arrays.binarySearch(cumulativeProbabilities, p);
+    int rank = index >= 0 ? index : -index - 1;
+    return Math.min(rank, cumulativeProbabilities.length - 1);
+  }
+}
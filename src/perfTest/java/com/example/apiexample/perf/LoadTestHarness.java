@@ -0,0 +1,313 @@
+package com.example.apiexample.perf;
+
+import com.example.apiexample.ApiExampleApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.extension.CacheItemDefinition;
+import org.springframework.cache.extension.CacheItemRepository;
+import org.springframework.cache.extension.CachePartitionRepository;
+import org.springframework.cache.extension.CacheWeightRepository;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Closed-loop load test of the example API. Starts a Redis stand-in and the application, then
+ * sweeps every endpoint over the configured concurrency levels and writes throughput, latency
+ * percentiles and cache hit ratio to a JSON report.
+ * Hit ratios come from the cache extension JFR access events recorded during each run.
+ *
+ * <p>Configuration (system properties):
+ * <ul>
+ *   <li>perf.endpoints: comma separated endpoints, default sum,multiply,substract,list</li>
+ *   <li>perf.concurrency: comma separated concurrency levels, default 1,4,16,64</li>
+ *   <li>perf.warmupSeconds: warmup per run, default 2</li>
+ *   <li>perf.durationSeconds: measurement per run, default 10</li>
+ *   <li>perf.keys: number of distinct keys, default 1000</li>
+ *   <li>perf.skew: Zipf exponent of the key distribution, 0 is uniform, default 0.99</li>
+ *   <li>perf.output: report file, default build/reports/perf/results.json</li>
+ * </ul>
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class LoadTestHarness {
+
+  private static final String CACHE_ACCESS_EVENT = "org.springframework.cache.extension.CacheAccess";
+
+  private static final Map<String, String> ENDPOINT_METHODS = Map.of(
+      "sum", "sum",
+      "multiply", "multiply",
+      "substract", "substract",
+      "list", "getList");
+
+  private final ConfigurableApplicationContext context;
+
+  private final HttpClient httpClient;
+
+  private final int serverPort;
+
+  private final KeySampler keySampler;
+
+  private final Duration warmup;
+
+  private final Duration duration;
+
+  public static void main(String[] args) throws Exception {
+    List<String> endpoints = list(System.getProperty("perf.endpoints", "sum,multiply,substract,list"));
+    List<Integer> concurrencyLevels = list(System.getProperty("perf.concurrency", "1,4,16,64")).stream()
+        .map(Integer::parseInt)
+        .collect(Collectors.toList());
+    Duration warmup = Duration.ofSeconds(Long.getLong("perf.warmupSeconds", 2));
+    Duration duration = Duration.ofSeconds(Long.getLong("perf.durationSeconds", 10));
+    int keys = Integer.getInteger("perf.keys", 1000);
+    double skew = Double.parseDouble(System.getProperty("perf.skew", "0.99"));
+    Path output = Paths.get(System.getProperty("perf.output", "build/reports/perf/results.json"));
+
+    try (RedisStandIn redis = new RedisStandIn(0);
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ApiExampleApplication.class)
+            .properties(
+                "server.port=0",
+                "spring.redis.host=localhost",
+                "spring.redis.port=" + redis.getPort(),
+                "spring.redis.ssl=false",
+                "logging.level.com.example.apiexample=WARN",
+                "logging.level.com.example.apiexample.perf=INFO",
+                "logging.level.org.springframework.cache=WARN",
+                "logging.level.org.springframework.data.redis=WARN")
+            .run(args)) {
+
+      int serverPort = ((WebServerApplicationContext) context).getWebServer().getPort();
+      HttpClient httpClient = HttpClient.newBuilder()
+          .version(HttpClient.Version.HTTP_1_1)
+          .build();
+
+      LoadTestHarness harness = new LoadTestHarness(
+          context, httpClient, serverPort, new KeySampler(keys, skew), warmup, duration);
+
+      List<LoadTestResult> results = new ArrayList<>();
+      for (String endpoint : endpoints) {
+        for (int concurrency : concurrencyLevels) {
+          LoadTestResult result = harness.run(endpoint, concurrency);
+          log.info("{} concurrency={} throughput={}/s p50={}us p99={}us p999={}us hitRatio={}",
+              endpoint, concurrency, Math.round(result.getThroughputPerSecond()),
+              result.getP50Micros(), result.getP99Micros(), result.getP999Micros(), result.getHitRatio());
+          results.add(result);
+        }
+      }
+
+      Map<String, Object> configuration = new LinkedHashMap<>();
+      configuration.put("endpoints", endpoints);
+      configuration.put("concurrency", concurrencyLevels);
+      configuration.put("warmupSeconds", warmup.getSeconds());
+      configuration.put("durationSeconds", duration.getSeconds());
+      configuration.put("keys", keys);
+      configuration.put("skew", skew);
+
+      Map<String, Object> report = new LinkedHashMap<>();
+      report.put("timestamp", Instant.now().toString());
+      report.put("configuration", configuration);
+      report.put("results", results);
+
+      Files.createDirectories(output.toAbsolutePath().getParent());
+      new ObjectMapper()
+          .enable(SerializationFeature.INDENT_OUTPUT)
+          .writeValue(output.toFile(), report);
+      log.info("Load test report written to {}", output.toAbsolutePath());
+    }
+  }
+
+  LoadTestResult run(String endpoint, int concurrency) throws Exception {
+    clearCaches();
+    drive(endpoint, concurrency, warmup);
+
+    Path recordingFile = Files.createTempFile("cache-access", ".jfr");
+    List<long[]> latencies;
+    long started;
+    long elapsed;
+    try (Recording recording = new Recording()) {
+      recording.enable(CACHE_ACCESS_EVENT);
+      recording.start();
+      started = System.nanoTime();
+      latencies = drive(endpoint, concurrency, duration);
+      elapsed = System.nanoTime() - started;
+      recording.stop();
+      recording.dump(recordingFile);
+    }
+
+    long hits = 0;
+    long misses = 0;
+    String method = ENDPOINT_METHODS.getOrDefault(endpoint, endpoint);
+    try {
+      for (RecordedEvent event : RecordingFile.readAllEvents(recordingFile)) {
+        if (event.getEventType().getName().equals(CACHE_ACCESS_EVENT)
+            && "get".equals(event.getString("operation"))
+            && method.equals(event.getString("method"))) {
+          if (event.getBoolean("hit")) {
+            hits++;
+          } else {
+            misses++;
+          }
+        }
+      }
+    } finally {
+      Files.deleteIfExists(recordingFile);
+    }
+
+    long errors = latencies.stream().mapToLong(l -> l[0]).sum();
+    long[] sorted = latencies.stream()
+        .flatMapToLong(l -> Arrays.stream(l, 1, l.length))
+        .sorted()
+        .toArray();
+
+    return LoadTestResult.builder()
+        .endpoint("/" + endpoint)
+        .cacheManager(findCacheManager(method))
+        .concurrency(concurrency)
+        .requests(sorted.length)
+        .errors(errors)
+        .throughputPerSecond(sorted.length / (elapsed / 1e9))
+        .p50Micros(percentile(sorted, 0.5))
+        .p99Micros(percentile(sorted, 0.99))
+        .p999Micros(percentile(sorted, 0.999))
+        .cacheHits(hits)
+        .cacheMisses(misses)
+        .hitRatio(hits + misses > 0 ? (double) hits / (hits + misses) : null)
+        .build();
+  }
+
+  /**
+   * Runs closed-loop workers until the deadline.
+   * @return per worker, the error count followed by the latency of every successful request.
+   */
+  private List<long[]> drive(String endpoint, int concurrency, Duration runDuration) throws Exception {
+    long deadline = System.nanoTime() + runDuration.toNanos();
+    ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+    try {
+      List<Callable<long[]>> workers = new ArrayList<>();
+      for (int i = 0; i < concurrency; i++) {
+        workers.add(() -> work(endpoint, deadline));
+      }
+      List<long[]> result = new ArrayList<>();
+      for (Future<long[]> future : executor.invokeAll(workers)) {
+        result.add(future.get());
+      }
+      return result;
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private long[] work(String endpoint, long deadline) {
+    long[] samples = new long[1024];
+    int count = 1;
+    long errors = 0;
+
+    while (System.nanoTime() < deadline) {
+      HttpRequest request = HttpRequest.newBuilder(uri(endpoint, keySampler.next())).GET().build();
+      long start = System.nanoTime();
+      try {
+        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        long latency = System.nanoTime() - start;
+        if (response.statusCode() != 200) {
+          errors++;
+          continue;
+        }
+        if (count == samples.length) {
+          samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = latency;
+      } catch (IOException e) {
+        errors++;
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+    }
+
+    samples[0] = errors;
+    return Arrays.copyOf(samples, count);
+  }
+
+  private URI uri(String endpoint, int key) {
+    String query = endpoint.equals("list") ? "a=" + key : "a=" + key + "&b=" + (key % 7 + 1);
+    return URI.create("http://localhost:" + serverPort + "/" + endpoint + "?" + query);
+  }
+
+  private String findCacheManager(String method) {
+    for (CacheItemDefinition cacheItemDefinition : context.getBean(CacheItemRepository.class)) {
+      if (cacheItemDefinition.getMethod().equals(method)) {
+        return cacheItemDefinition.getCacheManager();
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Clears the caches and the weights and partitions the extension tracks for them, so every run
+   * starts from the same state.
+   */
+  private void clearCaches() {
+    CacheWeightRepository cacheWeightRepository =
+        context.getBeanProvider(CacheWeightRepository.class).getIfAvailable();
+    CachePartitionRepository cachePartitionRepository =
+        context.getBeanProvider(CachePartitionRepository.class).getIfAvailable();
+
+    for (Map.Entry<String, CacheManager> entry : context.getBeansOfType(CacheManager.class).entrySet()) {
+      CacheManager cacheManager = entry.getValue();
+      for (String cacheName : cacheManager.getCacheNames()) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+          cache.clear();
+        }
+        if (cacheWeightRepository != null) {
+          cacheWeightRepository.releaseAll(entry.getKey(), cacheName);
+        }
+        if (cachePartitionRepository != null) {
+          cachePartitionRepository.releaseAll(entry.getKey(), cacheName);
+        }
+      }
+    }
+  }
+
+  private static double percentile(long[] sorted, double percentile) {
+    if (sorted.length == 0) {
+      return 0;
+    }
+    int index = (int) Math.ceil(percentile * sorted.length) - 1;
+    return sorted[Math.max(index, 0)] / 1000.0;
+  }
+
+  private static List<String> list(String value) {
+    return Arrays.stream(value.split(","))
+        .map(String::trim)
+        .filter(s -> !s.isEmpty())
+        .collect(Collectors.toList());
+  }
+}
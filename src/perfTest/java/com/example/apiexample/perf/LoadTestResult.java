@@ -0,0 +1,39 @@
+package com.example.apiexample.perf;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Result of one endpoint at one concurrency level.
+ */
+@Getter
+@Builder
+public class LoadTestResult {
+
+  private final String endpoint;
+
+  private final String cacheManager;
+
+  private final int concurrency;
+
+  private final long requests;
+
+  private final long errors;
+
+  private final double throughputPerSecond;
+
+  private final double p50Micros;
+
+  private final double p99Micros;
+
+  private final double p999Micros;
+
+  private final long cacheHits;
+
+  private final long cacheMisses;
+
+  /**
+   * Hit ratio of cache gets, or null when no get was recorded.
+   */
+  private final Double hitRatio;
+}
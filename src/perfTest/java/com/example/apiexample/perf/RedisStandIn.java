@@ -0,0 +1,363 @@
+package com.example.apiexample.perf;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-process Redis stand-in speaking RESP2. It implements the commands used by Lettuce and
+ * RedisCacheWriter (GET, SET with expiration and NX/XX, DEL, KEYS, SCAN, ...) on a plain map,
+ * so load tests do not depend on a Redis installation.
+ */
+@Slf4j
+public class RedisStandIn implements Closeable {
+
+  private final Map<String, Entry> data = new ConcurrentHashMap<>();
+
+  private final ServerSocket serverSocket;
+
+  public RedisStandIn(int port) throws IOException {
+    serverSocket = new ServerSocket(port, 128, InetAddress.getLoopbackAddress());
+    Thread acceptor = new Thread(this::accept, "redis-stand-in-" + getPort());
+    acceptor.setDaemon(true);
+    acceptor.start();
+    log.info("Redis stand-in listening on port {}", getPort());
+  }
+
+  public int getPort() {
+    return serverSocket.getLocalPort();
+  }
+
+  public int size() {
+    return data.size();
+  }
+
+  @Override
+  public void close() throws IOException {
+    serverSocket.close();
+  }
+
+  private void accept() {
+    while (!serverSocket.isClosed()) {
+      try {
+        Socket socket = serverSocket.accept();
+        socket.setTcpNoDelay(true);
+        Thread connection = new Thread(() -> serve(socket), "redis-stand-in-connection");
+        connection.setDaemon(true);
+        connection.start();
+      } catch (IOException e) {
+        if (!serverSocket.isClosed()) {
+          log.warn("Redis stand-in accept failed", e);
+        }
+      }
+    }
+  }
+
+  private void serve(Socket socket) {
+    try (socket;
+        InputStream in = new BufferedInputStream(socket.getInputStream());
+        OutputStream out = new BufferedOutputStream(socket.getOutputStream())) {
+      while (true) {
+        List<byte[]> command = readCommand(in);
+        if (command.isEmpty()) {
+          continue;
+        }
+        boolean quit = execute(command, out);
+        // Flush only when no pipelined command is pending.
+        if (in.available() == 0) {
+          out.flush();
+        }
+        if (quit) {
+          out.flush();
+          return;
+        }
+      }
+    } catch (EOFException e) {
+      // Client disconnected.
+    } catch (IOException e) {
+      log.debug("Redis stand-in connection closed", e);
+    }
+  }
+
+  private boolean execute(List<byte[]> command, OutputStream out) throws IOException {
+    String name = string(command.get(0)).toUpperCase(Locale.ROOT);
+    switch (name) {
+      case "PING":
+        if (command.size() > 1) {
+          writeBulk(out, command.get(1));
+        } else {
+          writeSimple(out, "PONG");
+        }
+        return false;
+      case "ECHO":
+        writeBulk(out, command.get(1));
+        return false;
+      case "QUIT":
+        writeSimple(out, "OK");
+        return true;
+      case "AUTH":
+      case "SELECT":
+      case "CLIENT":
+        writeSimple(out, "OK");
+        return false;
+      case "COMMAND":
+        writeArray(out, new ArrayList<>());
+        return false;
+      case "INFO":
+        writeBulk(out, bytes("# Server\r\nredis_version:6.2.0\r\nredis_mode:standalone\r\n"));
+        return false;
+      case "GET":
+        writeBulk(out, get(string(command.get(1))));
+        return false;
+      case "SET":
+        set(command, out);
+        return false;
+      case "DEL":
+      case "UNLINK":
+        long deleted = 0;
+        for (int i = 1; i < command.size(); i++) {
+          if (get(string(command.get(i))) != null && data.remove(string(command.get(i))) != null) {
+            deleted++;
+          }
+        }
+        writeInteger(out, deleted);
+        return false;
+      case "EXISTS":
+        long existing = 0;
+        for (int i = 1; i < command.size(); i++) {
+          existing += get(string(command.get(i))) != null ? 1 : 0;
+        }
+        writeInteger(out, existing);
+        return false;
+      case "KEYS":
+        writeArray(out, keys(string(command.get(1))));
+        return false;
+      case "SCAN":
+        scan(command, out);
+        return false;
+      case "PEXPIRE":
+      case "EXPIRE":
+        long ttl = Long.parseLong(string(command.get(2)));
+        writeInteger(out, expire(string(command.get(1)), name.equals("EXPIRE") ? ttl * 1000 : ttl));
+        return false;
+      case "PTTL":
+      case "TTL":
+        long remaining = ttl(string(command.get(1)));
+        writeInteger(out, remaining > 0 && name.equals("TTL") ? remaining / 1000 : remaining);
+        return false;
+      case "DBSIZE":
+        writeInteger(out, data.size());
+        return false;
+      case "FLUSHDB":
+      case "FLUSHALL":
+        data.clear();
+        writeSimple(out, "OK");
+        return false;
+      default:
+        // HELLO is rejected on purpose so that clients fall back to RESP2.
+        writeError(out, "ERR unknown command '" + name + "'");
+        return false;
+    }
+  }
+
+  private void set(List<byte[]> command, OutputStream out) throws IOException {
+    String key = string(command.get(1));
+    byte[] value = command.get(2);
+    long expiresAt = 0;
+    boolean nx = false;
+    boolean xx = false;
+
+    for (int i = 3; i < command.size(); i++) {
+      String option = string(command.get(i)).toUpperCase(Locale.ROOT);
+      if (option.equals("EX")) {
+        expiresAt = System.currentTimeMillis() + Long.parseLong(string(command.get(++i))) * 1000;
+      } else if (option.equals("PX")) {
+        expiresAt = System.currentTimeMillis() + Long.parseLong(string(command.get(++i)));
+      } else if (option.equals("NX")) {
+        nx = true;
+      } else if (option.equals("XX")) {
+        xx = true;
+      }
+    }
+
+    boolean exists = get(key) != null;
+    if ((nx && exists) || (xx && !exists)) {
+      writeBulk(out, null);
+      return;
+    }
+    data.put(key, new Entry(value, expiresAt));
+    writeSimple(out, "OK");
+  }
+
+  private void scan(List<byte[]> command, OutputStream out) throws IOException {
+    String pattern = "*";
+    for (int i = 2; i < command.size() - 1; i++) {
+      if (string(command.get(i)).equalsIgnoreCase("MATCH")) {
+        pattern = string(command.get(i + 1));
+      }
+    }
+    // Returns every match at once with the terminal cursor.
+    out.write(bytes("*2\r\n"));
+    writeBulk(out, bytes("0"));
+    writeArray(out, keys(pattern));
+  }
+
+  private byte[] get(String key) {
+    Entry entry = data.get(key);
+    if (entry == null) {
+      return null;
+    }
+    if (entry.isExpired()) {
+      data.remove(key, entry);
+      return null;
+    }
+    return entry.value;
+  }
+
+  private long expire(String key, long millis) {
+    byte[] value = get(key);
+    if (value == null) {
+      return 0;
+    }
+    data.put(key, new Entry(value, System.currentTimeMillis() + millis));
+    return 1;
+  }
+
+  private long ttl(String key) {
+    if (get(key) == null) {
+      return -2;
+    }
+    Entry entry = data.get(key);
+    if (entry == null) {
+      return -2;
+    }
+    return entry.expiresAt == 0 ? -1 : Math.max(0, entry.expiresAt - System.currentTimeMillis());
+  }
+
+  private List<byte[]> keys(String glob) {
+    Pattern pattern = globToPattern(glob);
+    return data.entrySet().stream()
+        .filter(e -> !e.getValue().isExpired())
+        .map(Map.Entry::getKey)
+        .filter(key -> pattern.matcher(key).matches())
+        .map(RedisStandIn::bytes)
+        .collect(Collectors.toList());
+  }
+
+  private static Pattern globToPattern(String glob) {
+    StringBuilder regex = new StringBuilder();
+    for (int i = 0; i < glob.length(); i++) {
+      char c = glob.charAt(i);
+      if (c == '*') {
+        regex.append(".*");
+      } else if (c == '?') {
+        regex.append('.');
+      } else if (c == '\\' && i + 1 < glob.length()) {
+        regex.append(Pattern.quote(String.valueOf(glob.charAt(++i))));
+      } else {
+        regex.append(Pattern.quote(String.valueOf(c)));
+      }
+    }
+    return Pattern.compile(regex.toString(), Pattern.DOTALL);
+  }
+
+  private static List<byte[]> readCommand(InputStream in) throws IOException {
+    String line = readLine(in);
+    List<byte[]> command = new ArrayList<>();
+    if (line.startsWith("*")) {
+      int count = Integer.parseInt(line.substring(1));
+      for (int i = 0; i < count; i++) {
+        String header = readLine(in);
+        int length = Integer.parseInt(header.substring(1));
+        command.add(in.readNBytes(length));
+        readLine(in);
+      }
+    } else if (!line.isBlank()) {
+      // Inline command, as sent by telnet or redis-cli.
+      for (String token : line.trim().split("\\s+")) {
+        command.add(bytes(token));
+      }
+    }
+    return command;
+  }
+
+  private static String readLine(InputStream in) throws IOException {
+    StringBuilder line = new StringBuilder();
+    int c;
+    while ((c = in.read()) != -1) {
+      if (c == '\r') {
+        in.read();
+        return line.toString();
+      }
+      line.append((char) c);
+    }
+    throw new EOFException();
+  }
+
+  private static void writeSimple(OutputStream out, String value) throws IOException {
+    out.write(bytes("+" + value + "\r\n"));
+  }
+
+  private static void writeError(OutputStream out, String message) throws IOException {
+    out.write(bytes("-" + message + "\r\n"));
+  }
+
+  private static void writeInteger(OutputStream out, long value) throws IOException {
+    out.write(bytes(":" + value + "\r\n"));
+  }
+
+  private static void writeBulk(OutputStream out, byte[] value) throws IOException {
+    if (value == null) {
+      out.write(bytes("$-1\r\n"));
+      return;
+    }
+    out.write(bytes("$" + value.length + "\r\n"));
+    out.write(value);
+    out.write(bytes("\r\n"));
+  }
+
+  private static void writeArray(OutputStream out, List<byte[]> values) throws IOException {
+    out.write(bytes("*" + values.size() + "\r\n"));
+    for (byte[] value : values) {
+      writeBulk(out, value);
+    }
+  }
+
+  // ISO-8859-1 maps every byte to one char, so binary keys survive the round trip.
+  private static String string(byte[] value) {
+    return new String(value, StandardCharsets.ISO_8859_1);
+  }
+
+  private static byte[] bytes(String value) {
+    return value.getBytes(StandardCharsets.ISO_8859_1);
+  }
+
+  @RequiredArgsConstructor
+  private static class Entry {
+
+    private final byte[] value;
+
+    private final long expiresAt;
+
+    private boolean isExpired() {
+      return expiresAt != 0 && expiresAt <= System.currentTimeMillis();
+    }
+  }
+}